@@ -5,15 +5,12 @@ import com.quickcart.address_service.dto.request.AddressTypeRequest;
 import com.quickcart.address_service.dto.request.AddressUpdateRequest;
 import com.quickcart.address_service.dto.response.AddressResponse;
 import com.quickcart.address_service.feign.UserClient;
-import com.quickcart.common.dto.UserDto;
 import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.address_service.mapper.AddressMapper;
 import com.quickcart.address_service.model.Address;
 import com.quickcart.address_service.repository.AddressRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,16 +24,7 @@ public class AddressService {
     private final UserClient userClient;
 
     private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || authentication.getName() == null) {
-            throw new AccessDeniedException("Unauthenticated");
-        }
-        String email = authentication.getName();
-        UserDto user = userClient.getUserByEmail(email);
-        if (user == null) {
-            throw new ValidationException("User not found for email: " + email);
-        }
-        return user.getId();
+        return AuthenticatedUser.current().resolveUserId(userClient::getUserByEmail);
     }
 
     @Transactional
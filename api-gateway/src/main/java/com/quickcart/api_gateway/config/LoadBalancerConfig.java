@@ -0,0 +1,28 @@
+package com.quickcart.api_gateway.config;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Guest carts live in the memory of the cart-service instance that created them, so cart-service
+// requests go back to the instance named in the sc-lb-instance-id cookie (set by cart-service with the
+// guest cookie). If that instance is gone the request is balanced as usual and the guest cart is lost.
+@Configuration
+@LoadBalancerClient(name = "cart-service", configuration = LoadBalancerConfig.CartServiceStickySession.class)
+public class LoadBalancerConfig {
+
+    // Deliberately not a @Configuration, so it applies to cart-service only
+    static class CartServiceStickySession {
+
+        @Bean
+        public ServiceInstanceListSupplier cartServiceInstanceListSupplier(ConfigurableApplicationContext context) {
+            return ServiceInstanceListSupplier.builder()
+                    .withDiscoveryClient()
+                    .withCaching()
+                    .withRequestBasedStickySession()
+                    .build(context);
+        }
+    }
+}
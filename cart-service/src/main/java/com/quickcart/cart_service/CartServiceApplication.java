@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients(basePackages = "com.quickcart.cart_service.feign")
 @ComponentScan(basePackages = {"com.quickcart.cart_service", "com.quickcart.common"})
+@EnableScheduling
 public class CartServiceApplication {
 
 	public static void main(String[] args) {
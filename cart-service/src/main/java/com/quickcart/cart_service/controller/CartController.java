@@ -1,8 +1,12 @@
 package com.quickcart.cart_service.controller;
 
+import com.quickcart.cart_service.dto.request.CartBatchRequest;
 import com.quickcart.cart_service.dto.response.CartResponse;
+import com.quickcart.cart_service.dto.response.CheckoutPreviewResponse;
 import com.quickcart.cart_service.service.CartService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +22,26 @@ public class CartController {
         return ResponseEntity.ok(cartService.getCartResponse());
     }
 
+    @GetMapping("/checkout-preview")
+    public ResponseEntity<CheckoutPreviewResponse> getCheckoutPreview() {
+        return ResponseEntity.ok(cartService.getCheckoutPreview());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<CartResponse> applyBatch(@Valid @RequestBody CartBatchRequest request) {
+        return ResponseEntity.ok(cartService.applyBatch(request));
+    }
+
+    // Called by the client right after login; clears the guest cookie once the cart is merged
+    @PostMapping("/merge-guest")
+    public ResponseEntity<CartResponse> mergeGuestCart(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookie) {
+        CartResponse cart = cartService.mergeGuestCart(GuestCartCookie.validId(cookie));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, GuestCartCookie.clear().toString())
+                .body(cart);
+    }
+
     @DeleteMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteCart() {
@@ -0,0 +1,75 @@
+package com.quickcart.cart_service.controller;
+
+import com.quickcart.cart_service.dto.request.CartItemRequest;
+import com.quickcart.cart_service.dto.response.CartResponse;
+import com.quickcart.cart_service.service.GuestCartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/guest-cart")
+@RequiredArgsConstructor
+public class GuestCartController {
+    private final GuestCartService guestCartService;
+    private final ObjectProvider<Registration> registration;
+
+    @Value("${cart.guest.ttl-hours:72}")
+    private long ttlHours;
+
+    @GetMapping
+    public ResponseEntity<CartResponse> getCart(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookie) {
+        return ResponseEntity.ok(guestCartService.getCart(GuestCartCookie.validId(cookie)));
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<CartResponse> addItem(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookie,
+            @Valid @RequestBody CartItemRequest request) {
+        String guestId = guestIdOrNew(cookie);
+        return withCookie(guestId, guestCartService.addItem(guestId, request));
+    }
+
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<CartResponse> updateQuantity(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookie,
+            @PathVariable Long productId,
+            @RequestParam int quantity) {
+        String guestId = guestIdOrNew(cookie);
+        return withCookie(guestId, guestCartService.updateQuantity(guestId, productId, quantity));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<CartResponse> removeItem(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookie,
+            @PathVariable Long productId) {
+        String guestId = guestIdOrNew(cookie);
+        return withCookie(guestId, guestCartService.removeItem(guestId, productId));
+    }
+
+    private String guestIdOrNew(String cookie) {
+        String guestId = GuestCartCookie.validId(cookie);
+        return guestId != null ? guestId : GuestCartCookie.newId();
+    }
+
+    // Re-issued on every write so the cookie lives as long as the cart does. The instance cookie pins the
+    // guest to this instance at the gateway, since guest carts are not shared between instances.
+    private ResponseEntity<CartResponse> withCookie(String guestId, CartResponse body) {
+        Duration maxAge = Duration.ofHours(ttlHours);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, GuestCartCookie.issue(guestId, maxAge).toString());
+        Registration instance = registration.getIfAvailable();
+        if (instance != null && instance.getInstanceId() != null) {
+            response.header(HttpHeaders.SET_COOKIE, GuestCartCookie.instance(instance.getInstanceId(), maxAge).toString());
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,60 @@
+package com.quickcart.cart_service.controller;
+
+import org.springframework.http.ResponseCookie;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// The guest cart id travels in an HttpOnly cookie; anything that is not one of our UUIDs is ignored
+final class GuestCartCookie {
+
+    static final String NAME = "QC_GUEST_CART";
+    // The gateway's sticky-session cookie: routes the guest back to the instance holding their cart
+    static final String INSTANCE_NAME = "sc-lb-instance-id";
+    private static final String PATH = "/api";
+
+    private GuestCartCookie() {
+    }
+
+    static String validId(String cookieValue) {
+        if (cookieValue == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(cookieValue).toString().equals(cookieValue) ? cookieValue : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    static ResponseCookie issue(String guestId, Duration maxAge) {
+        return ResponseCookie.from(NAME, guestId)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path(PATH)
+                .maxAge(maxAge)
+                .build();
+    }
+
+    static ResponseCookie instance(String instanceId, Duration maxAge) {
+        return ResponseCookie.from(INSTANCE_NAME, instanceId)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path(PATH)
+                .maxAge(maxAge)
+                .build();
+    }
+
+    static ResponseCookie clear() {
+        return ResponseCookie.from(NAME, "")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path(PATH)
+                .maxAge(0)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.quickcart.cart_service.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CartBatchRequest {
+    public enum OperationType {
+        ADD, SET, REMOVE
+    }
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 100, message = "Cannot apply more than 100 operations at once")
+    private List<@Valid Operation> operations;
+
+    @Data
+    public static class Operation {
+        @NotNull(message = "Operation type is required")
+        private OperationType type;
+
+        @NotNull(message = "Product ID is required")
+        @Positive(message = "Product ID must be positive")
+        private Long productId;
+
+        // Required for ADD (positive) and SET (zero removes the line); ignored for REMOVE
+        @PositiveOrZero(message = "Quantity must not be negative")
+        private Integer quantity;
+    }
+}
@@ -5,10 +5,17 @@ import java.math.BigDecimal;
 
 @Data
 public class CartItemResponse {
+    public enum StockStatus {
+        IN_STOCK, INSUFFICIENT_STOCK, UNAVAILABLE
+    }
+
     private Long id;
     private Long productId;
     private String productName;
     private BigDecimal productPrice;
     private String productImageUrl;
     private Integer quantity;
-}
\ No newline at end of file
+    private BigDecimal lineTotal;
+    private Integer availableStock;
+    private StockStatus stockStatus;
+}
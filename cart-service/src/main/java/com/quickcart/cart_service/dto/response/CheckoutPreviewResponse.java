@@ -0,0 +1,17 @@
+package com.quickcart.cart_service.dto.response;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class CheckoutPreviewResponse {
+    private List<CartItemResponse> items;
+    private BigDecimal itemTotal;
+    private BigDecimal shippingFee;
+    private BigDecimal cgstAmount;
+    private BigDecimal sgstAmount;
+    private BigDecimal grandTotal;
+    // False while the cart is empty or any line is unavailable or short on stock
+    private boolean checkoutReady;
+}
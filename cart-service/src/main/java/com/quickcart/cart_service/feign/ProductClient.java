@@ -4,7 +4,10 @@ import com.quickcart.common.dto.ProductDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @FeignClient(name = "product-service")
@@ -12,4 +15,7 @@ public interface ProductClient {
 
     @GetMapping("/api/products/{id}")
     Optional<ProductDto> getProductById(@PathVariable("id") Long id);
+
+    @GetMapping("/api/products/batch")
+    List<ProductDto> getProductsByIds(@RequestParam("ids") Collection<Long> ids);
 }
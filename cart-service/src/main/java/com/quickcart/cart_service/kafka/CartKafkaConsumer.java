@@ -1,11 +1,15 @@
 package com.quickcart.cart_service.kafka;
 
-import com.quickcart.cart_service.repository.CartRepository;
+import com.quickcart.cart_service.service.ProductReplicaService;
+import com.quickcart.cart_service.store.CartStore;
+import com.quickcart.common.event.ProductChangedEvent;
 import com.quickcart.common.event.UserDeletedEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +17,25 @@ import org.springframework.stereotype.Service;
 public class CartKafkaConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(CartKafkaConsumer.class);
-    private final CartRepository cartRepository;
+    private final CartStore cartStore;
+    private final ProductReplicaService productReplicaService;
 
     @KafkaListener(topics = "user-deleted-topic", groupId = "cart-service-group")
     public void consumeUserDeleted(UserDeletedEvent event) {
         logger.info("Consumed UserDeletedEvent: {}", event);
 
-        cartRepository.findByUserId(event.getUserId())
-                .ifPresent(cart -> {
-                    cartRepository.delete(cart);
-                    logger.info("Deleted cart for userId: {}", event.getUserId());
-                });
+        cartStore.deleteCartIfPresent(event.getUserId());
+        logger.info("Deleted cart for userId: {}", event.getUserId());
+    }
+
+    // Every instance needs every product, replayed from the beginning on each start: all partitions are
+    // assigned directly, with no consumer group and no offset commits. The "*" offset applies to the
+    // listed partitions, so the list must cover the whole topic.
+    @KafkaListener(topicPartitions = @TopicPartition(topic = "product-changed-topic",
+            partitions = "${cart.product-replica.partitions:0-2}",
+            partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")),
+            containerFactory = "productChangedListenerContainerFactory")
+    public void consumeProductChanged(ProductChangedEvent event) {
+        productReplicaService.apply(event);
     }
 }
@@ -1,7 +1,7 @@
 package com.quickcart.cart_service.mapper;
 
 import com.quickcart.cart_service.dto.response.CartItemResponse;
-import com.quickcart.cart_service.model.CartItem;
+import com.quickcart.cart_service.store.CartLine;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,5 +13,8 @@ public interface CartItemMapper {
     @Mapping(target = "productName", ignore = true)  // Set manually in service
     @Mapping(target = "productPrice", ignore = true) // Set manually in service
     @Mapping(target = "productImageUrl", ignore = true) // Set manually in service
-    CartItemResponse toResponse(CartItem cartItem);
-}
\ No newline at end of file
+    @Mapping(target = "lineTotal", ignore = true) // Set manually in service
+    @Mapping(target = "availableStock", ignore = true) // Set manually in service
+    @Mapping(target = "stockStatus", ignore = true) // Set manually in service
+    CartItemResponse toResponse(CartLine cartLine);
+}
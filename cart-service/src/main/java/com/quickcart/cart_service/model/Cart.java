@@ -11,7 +11,9 @@ import java.util.List;
 
 @Entity
 @Data
-@Table(name = "carts")
+@Table(name = "carts", indexes = {
+    @Index(name = "idx_carts_updated_at", columnList = "updated_at")
+})
 public class Cart {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
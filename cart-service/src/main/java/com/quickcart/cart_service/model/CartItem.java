@@ -3,10 +3,14 @@ package com.quickcart.cart_service.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints =
+        @UniqueConstraint(name = "uk_cart_items_cart_product", columnNames = {"cart_id", "product_id"}))
 public class CartItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,4 +26,8 @@ public class CartItem {
     @Column(nullable = false)
     @Positive(message = "Quantity must be positive")
     private Integer quantity;
+
+    // Line changes do not touch the parent cart row, so the abandoned-cart purge looks here too
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.quickcart.cart_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Carts created before uk_cart_items_cart_product could hold several lines for one product, and
+// ddl-auto cannot add the key while they exist (it only logs the failure). This merges each set of
+// duplicates into its oldest line, summing the quantities, then adds the key. Runs before the web
+// server and Kafka listeners start; once the key exists it is a single information_schema lookup.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CartItemKeyMigration implements SmartInitializingSingleton {
+
+    private static final String KEY_NAME = "uk_cart_items_cart_product";
+
+    private static final String DUPLICATES =
+            "SELECT cart_id, product_id, MIN(id) AS keep_id, SUM(quantity) AS total FROM cart_items " +
+            "GROUP BY cart_id, product_id HAVING COUNT(*) > 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!tableExists() || keyExists()) {
+            return;
+        }
+
+        Integer removed = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE cart_items ci JOIN (" + DUPLICATES + ") d ON ci.id = d.keep_id " +
+                    "SET ci.quantity = d.total");
+            return jdbcTemplate.update("DELETE ci FROM cart_items ci JOIN (" + DUPLICATES + ") d " +
+                    "ON ci.cart_id = d.cart_id AND ci.product_id = d.product_id AND ci.id <> d.keep_id");
+        });
+        log.info("Merged {} duplicate cart lines before adding {}", removed, KEY_NAME);
+
+        try {
+            jdbcTemplate.execute("ALTER TABLE cart_items ADD CONSTRAINT " + KEY_NAME + " UNIQUE (cart_id, product_id)");
+        } catch (DataAccessException e) {
+            // Another instance starting at the same time may have added it first; anything else fails startup
+            if (!keyExists()) {
+                throw e;
+            }
+        }
+    }
+
+    private boolean tableExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() " +
+                        "AND table_name = 'cart_items'", Integer.class);
+        return count != null && count > 0;
+    }
+
+    private boolean keyExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() " +
+                        "AND table_name = 'cart_items' AND index_name = ?", Integer.class, KEY_NAME);
+        return count != null && count > 0;
+    }
+}
@@ -16,16 +16,18 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     Optional<CartItem> findByCart_IdAndId(Long cartId, Long itemId);
 
-    @Query("SELECT COALESCE(SUM(ci.quantity), 0) FROM CartItem ci WHERE ci.productId = :productId AND ci.cart.id = :cartId")
-    int sumQuantityByProductAndCart(@Param("productId") Long productId, @Param("cartId") Long cartId);
+    // Relies on uk_cart_items_cart_product: inserts the line or adds to its quantity in one statement.
+    // The row alias (MySQL 8.0.19+) replaces VALUES(), which is deprecated in ON DUPLICATE KEY UPDATE.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO cart_items (cart_id, product_id, quantity, updated_at) " +
+            "VALUES (:cartId, :productId, :quantity, NOW()) AS new " +
+            "ON DUPLICATE KEY UPDATE quantity = cart_items.quantity + new.quantity, updated_at = NOW()", nativeQuery = true)
+    int upsertQuantity(@Param("cartId") Long cartId, @Param("productId") Long productId, @Param("quantity") int quantity);
 
     @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.id = :itemId AND ci.cart.userId = :userId")
-    int deleteByIdAndCartUser_Id(@Param("itemId") Long itemId, @Param("userId") Long userId);
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :itemId AND ci.cart.id = :cartId")
+    int deleteByCartIdAndId(@Param("cartId") Long cartId, @Param("itemId") Long itemId);
 
     @Query("SELECT ci FROM CartItem ci WHERE ci.cart.userId = :userId AND ci.id = :itemId")
     Optional<CartItem> findByCartUserIdAndId(@Param("userId") Long userId, @Param("itemId") Long itemId);
-
-    @Query("SELECT COUNT(ci) FROM CartItem ci WHERE ci.cart.id = :cartId")
-    int countByCartId(@Param("cartId") Long cartId);
 }
@@ -1,7 +1,9 @@
 package com.quickcart.cart_service.repository;
 
 import com.quickcart.cart_service.model.Cart;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,7 +14,14 @@ import java.util.Optional;
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUserId(Long userId);
 
+    // Serializes mutations of one cart: read-then-write changes must not interleave with other writes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.userId = :userId")
+    Optional<Cart> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    // Drops the cart only if its last item is gone, without a separate count round trip
     @Modifying
-    @Query("DELETE FROM Cart c WHERE c.id = :cartId")
-    void deleteCartById(@Param("cartId") Long cartId);
+    @Query(value = "DELETE FROM carts WHERE id = :cartId " +
+            "AND NOT EXISTS (SELECT 1 FROM cart_items WHERE cart_id = :cartId)", nativeQuery = true)
+    int deleteIfEmpty(@Param("cartId") Long cartId);
 }
@@ -0,0 +1,185 @@
+package com.quickcart.cart_service.service;
+
+import com.quickcart.cart_service.store.CartStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Deletes carts with no cart or line activity for cart.purge.abandoned-after-days. Works in keyset
+// chunks, each its own short transaction, with a pause in between to keep locks and binlog bursts small.
+// Carts the store engine holds in memory are left alone, and one instance purges at a time.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cart.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedCartPurgeService {
+
+    private static final String STALE_CART_CONDITION =
+            "c.updated_at < :cutoff AND NOT EXISTS " +
+            "(SELECT 1 FROM cart_items recent WHERE recent.cart_id = c.id AND recent.updated_at >= :cutoff)";
+
+    // MySQL named lock, held on its own connection for the whole run
+    private static final String LOCK_NAME = "cart-service.abandoned-cart-purge";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CartStore cartStore;
+    private final int abandonedAfterDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    private final Counter cartsPurged;
+    private final Counter itemsPurged;
+    private final Timer purgeTimer;
+
+    public AbandonedCartPurgeService(NamedParameterJdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     CartStore cartStore,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${cart.purge.abandoned-after-days:30}") int abandonedAfterDays,
+                                     @Value("${cart.purge.chunk-size:500}") int chunkSize,
+                                     @Value("${cart.purge.pause-ms:200}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cartStore = cartStore;
+        this.abandonedAfterDays = abandonedAfterDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+
+        this.cartsPurged = Counter.builder("cart.purge.carts")
+                .description("Abandoned carts deleted by the purge job")
+                .register(meterRegistry);
+        this.itemsPurged = Counter.builder("cart.purge.items")
+                .description("Cart items deleted along with abandoned carts")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("cart.purge.duration")
+                .description("Wall-clock time of one purge run, pauses included")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${cart.purge.cron:0 30 3 * * *}")
+    public void purgeAbandonedCarts() {
+        jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<Void>) connection -> {
+            if (!tryLock(connection)) {
+                log.info("Abandoned-cart purge is running on another instance, skipping");
+                return null;
+            }
+            try {
+                purgeTimer.record(this::purge);
+            } finally {
+                unlock(connection);
+            }
+            return null;
+        });
+    }
+
+    private void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(abandonedAfterDays);
+        long lastId = 0;
+        long totalCarts = 0;
+
+        while (true) {
+            List<Long> candidates = jdbcTemplate.queryForList(
+                    "SELECT c.id FROM carts c WHERE c.id > :lastId AND " + STALE_CART_CONDITION +
+                            " ORDER BY c.id LIMIT :chunkSize",
+                    new MapSqlParameterSource()
+                            .addValue("lastId", lastId)
+                            .addValue("cutoff", cutoff)
+                            .addValue("chunkSize", chunkSize),
+                    Long.class);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            lastId = candidates.get(candidates.size() - 1);
+
+            // Counted only once the chunk has committed
+            PurgedChunk purged = transactionTemplate.execute(status -> deleteChunk(candidates, cutoff));
+            if (purged != null) {
+                cartStore.forgetPurged(purged.userIds());
+                cartsPurged.increment(purged.carts());
+                itemsPurged.increment(purged.items());
+                totalCarts += purged.carts();
+            }
+
+            if (candidates.size() < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        log.info("Purged {} carts untouched since {}", totalCarts, cutoff);
+    }
+
+    private PurgedChunk deleteChunk(List<Long> candidates, LocalDateTime cutoff) {
+        // Re-check under a row lock: a cart used since the scan must survive, and so must one the store
+        // holds in memory, since its activity may not have reached MySQL yet
+        Map<Long, Long> stale = new LinkedHashMap<>(); // cart id -> user id
+        jdbcTemplate.query(
+                "SELECT c.id, c.user_id FROM carts c WHERE c.id IN (:ids) AND " + STALE_CART_CONDITION + " FOR UPDATE",
+                new MapSqlParameterSource()
+                        .addValue("ids", candidates)
+                        .addValue("cutoff", cutoff),
+                rs -> {
+                    if (!cartStore.holdsCart(rs.getLong("user_id"))) {
+                        stale.put(rs.getLong("id"), rs.getLong("user_id"));
+                    }
+                });
+        if (stale.isEmpty()) {
+            return new PurgedChunk(0, 0, List.of());
+        }
+
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", stale.keySet());
+        int items = jdbcTemplate.update("DELETE FROM cart_items WHERE cart_id IN (:ids)", ids);
+        int carts = jdbcTemplate.update("DELETE FROM carts WHERE id IN (:ids)", ids);
+        return new PurgedChunk(carts, items, List.copyOf(stale.values()));
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(Duration.ofMillis(pauseMillis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record PurgedChunk(int carts, int items, List<Long> userIds) {
+    }
+}
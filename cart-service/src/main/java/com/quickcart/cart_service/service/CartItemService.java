@@ -2,126 +2,74 @@ package com.quickcart.cart_service.service;
 
 import com.quickcart.cart_service.dto.request.CartItemRequest;
 import com.quickcart.cart_service.dto.response.CartItemResponse;
-import com.quickcart.cart_service.feign.ProductClient;
-import com.quickcart.cart_service.model.Cart;
-import com.quickcart.cart_service.model.CartItem;
-import com.quickcart.cart_service.repository.CartItemRepository;
-import com.quickcart.cart_service.repository.CartRepository;
+import com.quickcart.cart_service.store.CartLine;
+import com.quickcart.cart_service.store.CartStore;
 import com.quickcart.common.dto.ProductDto;
 import com.quickcart.common.exception.ValidationException;
 import com.quickcart.cart_service.mapper.CartItemMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+// Transactions live in the CartStore, so no DB connection is held across product lookups
 @Service
 @RequiredArgsConstructor
 public class CartItemService {
 
     private final CartService cartService;
-    private final CartItemRepository cartItemRepository;
-    private final CartRepository cartRepository;
+    private final CartStore cartStore;
     private final CartItemMapper cartItemMapper;
-    private final ProductClient productClient;
+    private final ProductReplicaService productReplicaService;
+    private final CartPricingService cartPricingService;
 
-    @Transactional
     public CartItemResponse addItem(CartItemRequest request) {
-        Cart cart = cartService.getOrCreateCart();
+        Long userId = cartService.getCurrentUserId();
 
-        ProductDto product = productClient.getProductById(request.getProductId())
+        ProductDto product = productReplicaService.getProduct(request.getProductId())
                 .orElseThrow(() -> new ValidationException("Active product not found"));
 
-        validateStockForUser(product, request.getQuantity(), cart);
-
-        CartItem item = cartItemRepository.findByCart_IdAndProductId(cart.getId(), product.getId())
-                .map(existingItem -> {
-                    existingItem.setQuantity(existingItem.getQuantity() + request.getQuantity());
-                    return existingItem;
-                })
-                .orElseGet(() -> {
-                    CartItem newItem = new CartItem();
-                    newItem.setCart(cart);
-                    newItem.setProductId(product.getId());
-                    newItem.setQuantity(request.getQuantity());
-                    return newItem;
-                });
-
-        CartItemResponse response = cartItemMapper.toResponse(cartItemRepository.save(item));
-        response.setProductName(product.getName());
-        response.setProductPrice(product.getPrice());
-        response.setProductImageUrl(product.getImageUrl());
-        return response;
+        CartLine line = cartStore.addQuantity(userId, product.getId(), request.getQuantity(), product.getStock());
+
+        CartItemResponse response = cartItemMapper.toResponse(line);
+        return cartPricingService.applyProduct(response, product);
 
     }
 
-    @Transactional(readOnly = true)
     public CartItemResponse getItem(Long itemId) {
-        Cart cart = cartService.getOrCreateCart();
-        CartItem cartItem = cartItemRepository.findByCart_IdAndId(cart.getId(), itemId)
+        CartLine line = cartStore.findLine(cartService.getCurrentUserId(), itemId)
                 .orElseThrow(() -> new ValidationException("Cart item not found"));
 
-        CartItemResponse response = cartItemMapper.toResponse(cartItem);
+        CartItemResponse response = cartItemMapper.toResponse(line);
 
-        ProductDto product = productClient.getProductById(cartItem.getProductId())
+        ProductDto product = productReplicaService.getProduct(line.productId())
                 .orElseThrow(() -> new ValidationException("Active product not found"));
 
-        response.setProductName(product.getName());
-        response.setProductPrice(product.getPrice());
-        response.setProductImageUrl(product.getImageUrl());
-        return response;
+        return cartPricingService.applyProduct(response, product);
     }
 
-    @Transactional
     public void removeItem(Long itemId) {
-        Cart cart = cartService.getOrCreateCart();
-        CartItem item = cartItemRepository.findByCart_IdAndId(cart.getId(), itemId)
-                .orElseThrow(() -> new ValidationException("Item not found in cart"));
-
-        cartItemRepository.deleteByIdAndCartUser_Id(itemId, cart.getUserId());
-
-        if (cartItemRepository.countByCartId(cart.getId()) == 0) {
-            cartRepository.deleteCartById(cart.getId());
-        }
+        cartStore.removeLine(cartService.getCurrentUserId(), itemId);
     }
 
-    @Transactional
     public CartItemResponse updateQuantity(Long itemId, int newQuantity) {
-        Cart cart = cartService.getOrCreateCart();
-        CartItem item = cartItemRepository.findByCart_IdAndId(cart.getId(), itemId)
-                .orElseThrow(() -> new ValidationException("Item not found in cart"));
+        Long userId = cartService.getCurrentUserId();
 
         if (newQuantity <= 0) {
-            cartItemRepository.deleteByIdAndCartUser_Id(itemId, cart.getUserId());
-
-            if (cartItemRepository.countByCartId(cart.getId()) == 0) {
-                cartRepository.deleteCartById(cart.getId());
-            }
-
+            cartStore.removeLine(userId, itemId);
             return null;
         }
 
-        ProductDto product = productClient.getProductById(item.getProductId())
-                .orElseThrow(() -> new ValidationException("Active product not found"));
-
-        validateStockForUser(product, newQuantity - item.getQuantity(), cart);
+        CartLine line = cartStore.findLine(userId, itemId)
+                .orElseThrow(() -> new ValidationException("Item not found in cart"));
 
-        item.setQuantity(newQuantity);
-        CartItemResponse response = cartItemMapper.toResponse(cartItemRepository.save(item));
-        response.setProductName(product.getName());
-        response.setProductPrice(product.getPrice());
-        response.setProductImageUrl(product.getImageUrl());
-        return response;
+        ProductDto product = productReplicaService.getProduct(line.productId())
+                .orElseThrow(() -> new ValidationException("Active product not found"));
 
-    }
+        if (product.getStock() < newQuantity) {
+            throw CartStore.insufficientStock(product.getStock());
+        }
 
-    private void validateStockForUser(ProductDto product, int additionalQty, Cart cart) {
-        int currentUserQty = cartItemRepository.sumQuantityByProductAndCart(product.getId(), cart.getId());
-        int totalRequested = currentUserQty + additionalQty;
+        CartItemResponse response = cartItemMapper.toResponse(cartStore.setQuantity(userId, itemId, newQuantity));
+        return cartPricingService.applyProduct(response, product);
 
-        if (product.getStock() < totalRequested) {
-            throw new ValidationException(
-                    String.format("Only %d units available", product.getStock())
-            );
-        }
     }
 }
@@ -0,0 +1,85 @@
+package com.quickcart.cart_service.service;
+
+import com.quickcart.cart_service.dto.response.CartItemResponse;
+import com.quickcart.common.dto.ProductDto;
+import com.quickcart.common.pricing.PricingEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class CartPricingService {
+
+    private final ProductReplicaService productReplicaService;
+    private final PricingEngine pricingEngine;
+
+    // Served from the local replica; at most one batch call for products it has not seen yet
+    public Map<Long, ProductDto> fetchProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return productReplicaService.getProducts(productIds);
+    }
+
+    // Fills product details on each item and returns the total of the purchasable lines, in minor units
+    public long priceItems(List<CartItemResponse> items) {
+        return priceItems(items, Map.of());
+    }
+
+    // Same, reusing products the caller already fetched
+    public long priceItems(List<CartItemResponse> items, Map<Long, ProductDto> knownProducts) {
+        Map<Long, ProductDto> products = new HashMap<>(knownProducts);
+        products.putAll(fetchProducts(items.stream()
+                .map(CartItemResponse::getProductId)
+                .filter(productId -> !knownProducts.containsKey(productId))
+                .toList()));
+        return price(items, products);
+    }
+
+    // Guest carts: products that cannot be fetched without a token are shown as unavailable
+    public long priceGuestItems(List<CartItemResponse> items) {
+        List<Long> productIds = items.stream().map(CartItemResponse::getProductId).toList();
+        return price(items, productIds.isEmpty()
+                ? Map.of()
+                : productReplicaService.getProductsWithoutToken(productIds));
+    }
+
+    private long price(List<CartItemResponse> items, Map<Long, ProductDto> products) {
+        return items.stream()
+                .map(item -> applyProduct(item, products.get(item.getProductId())))
+                .filter(item -> item.getStockStatus() == CartItemResponse.StockStatus.IN_STOCK)
+                .mapToLong(item -> pricingEngine.lineTotal(item.getProductPrice(), item.getQuantity()))
+                .sum();
+    }
+
+    public CartItemResponse applyProduct(CartItemResponse item, ProductDto product) {
+        // Product deleted or deactivated since it was added: keep the line, but don't price it
+        if (product == null || !product.isActive()) {
+            item.setLineTotal(BigDecimal.ZERO);
+            item.setAvailableStock(0);
+            item.setStockStatus(CartItemResponse.StockStatus.UNAVAILABLE);
+            if (product != null) {
+                item.setProductName(product.getName());
+                item.setProductImageUrl(product.getImageUrl());
+            }
+            return item;
+        }
+
+        item.setProductName(product.getName());
+        item.setProductPrice(product.getPrice());
+        item.setProductImageUrl(product.getImageUrl());
+        item.setLineTotal(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        item.setAvailableStock(product.getStock());
+        item.setStockStatus(product.getStock() >= item.getQuantity()
+                ? CartItemResponse.StockStatus.IN_STOCK
+                : CartItemResponse.StockStatus.INSUFFICIENT_STOCK);
+        return item;
+    }
+}
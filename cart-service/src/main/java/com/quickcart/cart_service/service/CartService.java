@@ -1,88 +1,160 @@
 package com.quickcart.cart_service.service;
 
+import com.quickcart.cart_service.dto.request.CartBatchRequest;
+import com.quickcart.cart_service.dto.response.CartItemResponse;
 import com.quickcart.cart_service.dto.response.CartResponse;
-import com.quickcart.cart_service.feign.ProductClient;
+import com.quickcart.cart_service.dto.response.CheckoutPreviewResponse;
 import com.quickcart.cart_service.feign.UserClient;
-import com.quickcart.common.dto.UserDto;
+import com.quickcart.cart_service.store.CartOperation;
+import com.quickcart.cart_service.store.CartSnapshot;
+import com.quickcart.cart_service.store.CartStore;
+import com.quickcart.cart_service.store.GuestCartStore;
+import com.quickcart.common.dto.ProductDto;
 import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.pricing.OrderCharges;
+import com.quickcart.common.pricing.PricingEngine;
+import com.quickcart.common.security.AuthenticatedUser;
+import com.quickcart.cart_service.mapper.CartItemMapper;
 import com.quickcart.cart_service.mapper.CartMapper;
-import com.quickcart.cart_service.model.Cart;
-import com.quickcart.cart_service.repository.CartRepository;
-import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class CartService {
-    private final CartRepository cartRepository;
+    private final CartStore cartStore;
     private final CartMapper cartMapper;
+    private final CartItemMapper cartItemMapper;
     private final UserClient userClient;
-    private final ProductClient productClient;
+    private final CartPricingService cartPricingService;
+    private final ProductReplicaService productReplicaService;
+    private final GuestCartStore guestCartStore;
+    private final PricingEngine pricingEngine;
 
 
-    private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || authentication.getName() == null) {
-            throw new AccessDeniedException("Unauthenticated");
-        }
-        String email = authentication.getName();
-        UserDto user = userClient.getUserByEmail(email);
-        if (user == null) {
-            throw new ValidationException("User not found for email: " + email);
-        }
-        return user.getId();
+    public Long getCurrentUserId() {
+        return AuthenticatedUser.current().resolveUserId(userClient::getUserByEmail);
+    }
+
+
+    public CartResponse getCartResponse() {
+        CartResponse response = cartMapper.toResponse(cartStore.getCart(getCurrentUserId()));
+        response.setCartTotal(PricingEngine.toAmount(cartPricingService.priceItems(response.getItems())));
+
+        return response;
     }
 
+    // What placing the order now would cost, from one product lookup; reads only, never creates a cart
+    public CheckoutPreviewResponse getCheckoutPreview() {
+        List<CartItemResponse> items = cartStore.getLines(getCurrentUserId()).stream()
+                .map(cartItemMapper::toResponse)
+                .toList();
+        long itemTotal = cartPricingService.priceItems(items);
+
+        CheckoutPreviewResponse response = new CheckoutPreviewResponse();
+        response.setItems(items);
+        response.setCheckoutReady(!items.isEmpty() && items.stream()
+                .allMatch(item -> item.getStockStatus() == CartItemResponse.StockStatus.IN_STOCK));
+
+        OrderCharges charges = items.isEmpty() ? OrderCharges.NONE : pricingEngine.price(itemTotal);
+        response.setItemTotal(charges.itemTotal());
+        response.setShippingFee(charges.shippingFee());
+        response.setCgstAmount(charges.cgstAmount());
+        response.setSgstAmount(charges.sgstAmount());
+        response.setGrandTotal(charges.grandTotal());
+        return response;
+    }
 
-    @Transactional
-    public Cart getOrCreateCart() {
+    // Applies every operation in one go: one product lookup, one stock check, one store write
+    public CartResponse applyBatch(CartBatchRequest request) {
         Long userId = getCurrentUserId();
 
-        if (userId == null) {
-            throw new ValidationException("User not found");
+        List<CartOperation> operations = request.getOperations().stream()
+                .map(this::toOperation)
+                .toList();
+
+        Map<Long, ProductDto> products = productReplicaService.getProducts(operations.stream()
+                .filter(operation -> operation.type() != CartOperation.Type.REMOVE)
+                .map(CartOperation::productId)
+                .distinct()
+                .toList());
+
+        Map<Long, Integer> maxQuantities = new HashMap<>();
+        for (CartOperation operation : operations) {
+            if (operation.type() == CartOperation.Type.REMOVE) {
+                continue;
+            }
+            ProductDto product = products.get(operation.productId());
+            if (product == null || !product.isActive()) {
+                throw new ValidationException("Active product not found: " + operation.productId());
+            }
+            maxQuantities.put(product.getId(), product.getStock());
         }
 
-        return cartRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    Cart newCart = new Cart();
-                    newCart.setUserId(userId);
-                    return cartRepository.save(newCart);
-                });
+        CartResponse response = cartMapper.toResponse(cartStore.applyOperations(userId, operations, maxQuantities));
+        response.setCartTotal(PricingEngine.toAmount(cartPricingService.priceItems(response.getItems(), products)));
+
+        return response;
     }
 
-    @Transactional
-    public CartResponse getCartResponse() {
-        Cart cart = getOrCreateCart();
+    // Folds the guest cart into the user's cart in one store write. The guest quantities are added to
+    // whatever the cart holds when the write runs, capped at stock rather than failing the merge; products
+    // that are gone are skipped.
+    public CartResponse mergeGuestCart(String guestId) {
+        Map<Long, Integer> guestLines = guestId == null ? Map.of() : guestCartStore.getLines(guestId);
+        if (guestLines.isEmpty()) {
+            return getCartResponse();
+        }
 
-        CartResponse response = cartMapper.toResponse(cart);
+        Long userId = getCurrentUserId();
+        Map<Long, ProductDto> products = productReplicaService.getProducts(guestLines.keySet());
+
+        List<CartOperation> operations = new ArrayList<>();
+        Map<Long, Integer> maxQuantities = new HashMap<>();
+        guestLines.forEach((productId, quantity) -> {
+            ProductDto product = products.get(productId);
+            if (product == null || !product.isActive()) {
+                return;
+            }
+            operations.add(new CartOperation(CartOperation.Type.MERGE, productId, quantity));
+            maxQuantities.put(productId, product.getStock());
+        });
+
+        CartSnapshot merged = operations.isEmpty()
+                ? cartStore.getCart(userId)
+                : cartStore.applyOperations(userId, operations, maxQuantities);
+        guestCartStore.delete(guestId);
+
+        CartResponse response = cartMapper.toResponse(merged);
+        response.setCartTotal(PricingEngine.toAmount(cartPricingService.priceItems(response.getItems(), products)));
+        return response;
+    }
 
-        BigDecimal total = cart.getItems().stream()
-                .map(item -> {
-                    return productClient.getProductById(item.getProductId())
-                            .map(product -> BigDecimal.valueOf(item.getQuantity())
-                                    .multiply(product.getPrice()))
-                            .orElse(BigDecimal.ZERO);
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private CartOperation toOperation(CartBatchRequest.Operation operation) {
+        CartOperation.Type type = CartOperation.Type.valueOf(operation.getType().name());
+        Integer quantity = operation.getQuantity();
 
+        if (type == CartOperation.Type.ADD && (quantity == null || quantity <= 0)) {
+            throw new ValidationException("ADD needs a positive quantity for product " + operation.getProductId());
+        }
+        if (type == CartOperation.Type.SET && quantity == null) {
+            throw new ValidationException("SET needs a quantity for product " + operation.getProductId());
+        }
 
-        response.setCartTotal(total);
+        // SET 0 is a removal, which should still work for a product that has since been deactivated
+        if (type == CartOperation.Type.SET && quantity == 0) {
+            type = CartOperation.Type.REMOVE;
+        }
 
-        return response;
+        return new CartOperation(type, operation.getProductId(), quantity != null ? quantity : 0);
     }
 
-    @Transactional
     public void deleteCart() {
-        Long userId = getCurrentUserId();
-
-        Cart cart = cartRepository.findByUserId(userId)
-                .orElseThrow(() -> new ValidationException("No cart found for user"));
-        cartRepository.delete(cart);
+        cartStore.deleteCart(getCurrentUserId());
     }
-}
\ No newline at end of file
+}
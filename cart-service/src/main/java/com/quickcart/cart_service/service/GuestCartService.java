@@ -0,0 +1,64 @@
+package com.quickcart.cart_service.service;
+
+import com.quickcart.cart_service.dto.request.CartItemRequest;
+import com.quickcart.cart_service.dto.response.CartItemResponse;
+import com.quickcart.cart_service.dto.response.CartResponse;
+import com.quickcart.cart_service.store.GuestCartStore;
+import com.quickcart.common.dto.ProductDto;
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.pricing.PricingEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class GuestCartService {
+
+    private final GuestCartStore guestCartStore;
+    private final ProductReplicaService productReplicaService;
+    private final CartPricingService cartPricingService;
+
+    public CartResponse getCart(String guestId) {
+        return toResponse(guestId == null ? Map.of() : guestCartStore.getLines(guestId));
+    }
+
+    public CartResponse addItem(String guestId, CartItemRequest request) {
+        ProductDto product = requireActiveProduct(request.getProductId());
+        return toResponse(guestCartStore.addQuantity(guestId, product.getId(), request.getQuantity(), product.getStock()));
+    }
+
+    public CartResponse updateQuantity(String guestId, Long productId, int quantity) {
+        if (quantity <= 0) {
+            return removeItem(guestId, productId);
+        }
+
+        ProductDto product = requireActiveProduct(productId);
+        return toResponse(guestCartStore.setQuantity(guestId, productId, quantity, product.getStock()));
+    }
+
+    public CartResponse removeItem(String guestId, Long productId) {
+        return toResponse(guestCartStore.removeLine(guestId, productId));
+    }
+
+    private ProductDto requireActiveProduct(Long productId) {
+        return productReplicaService.getProductWithoutToken(productId)
+                .orElseThrow(() -> new ValidationException("Active product not found"));
+    }
+
+    // Guest lines have no item id; clients address them by productId
+    private CartResponse toResponse(Map<Long, Integer> lines) {
+        CartResponse response = new CartResponse();
+        response.setItems(lines.entrySet().stream()
+                .map(line -> {
+                    CartItemResponse item = new CartItemResponse();
+                    item.setProductId(line.getKey());
+                    item.setQuantity(line.getValue());
+                    return item;
+                })
+                .toList());
+        response.setCartTotal(PricingEngine.toAmount(cartPricingService.priceGuestItems(response.getItems())));
+        return response;
+    }
+}
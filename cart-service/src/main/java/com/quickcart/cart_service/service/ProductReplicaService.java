@@ -0,0 +1,128 @@
+package com.quickcart.cart_service.service;
+
+import com.quickcart.cart_service.feign.ProductClient;
+import com.quickcart.common.dto.ProductDto;
+import com.quickcart.common.event.ProductChangedEvent;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Local copy of the product fields the cart needs, kept current from product-changed-topic.
+// Products not seen on the topic yet are fetched from product-service once and then served locally.
+// Unbounded by design: it holds every product, at roughly 200 bytes each plus the name and image URL,
+// so a catalog of a few hundred thousand products stays in the tens of megabytes. A much larger
+// catalog would need a bounded cache with Feign as the fallback instead.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductReplicaService {
+
+    // Below any real version, so the first event for a fetched product replaces it
+    private static final long FETCHED_VERSION = -1;
+
+    private final ProductClient productClient;
+    private final Map<Long, ProductEntry> products = new ConcurrentHashMap<>();
+
+    // Copies arrive out of order when the topic is replayed or a snapshot races an update; the highest
+    // version wins
+    public void apply(ProductChangedEvent event) {
+        ProductEntry update = new ProductEntry(event.getProductId(), event.getName(), event.getPrice(),
+                event.getStock(), event.getImageUrl(), event.isActive(), event.getVersion());
+        products.merge(event.getProductId(), update,
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+    }
+
+    public Optional<ProductDto> getProduct(Long productId) {
+        ProductEntry entry = products.get(productId);
+        if (entry != null) {
+            return entry.active() ? Optional.of(entry.toDto()) : Optional.empty();
+        }
+
+        Optional<ProductDto> fetched = productClient.getProductById(productId);
+        fetched.ifPresent(this::remember);
+        return fetched;
+    }
+
+    // Every product the replica holds, plus a single batch call for the ones it does not
+    public Map<Long, ProductDto> getProducts(Collection<Long> productIds) {
+        Map<Long, ProductDto> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long productId : productIds) {
+            ProductEntry entry = products.get(productId);
+            if (entry != null) {
+                result.put(productId, entry.toDto());
+            } else if (!missing.contains(productId)) {
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (ProductDto product : productClient.getProductsByIds(missing)) {
+                remember(product);
+                result.put(product.getId(), product);
+            }
+        }
+        return result;
+    }
+
+    // Guest requests carry no JWT, so product-service can turn the fetch down; a product the replica has
+    // not seen yet is then reported as not found instead of failing the request
+    public Optional<ProductDto> getProductWithoutToken(Long productId) {
+        try {
+            return getProduct(productId);
+        } catch (FeignException e) {
+            log.debug("Product {} is not in the replica and could not be fetched: {}", productId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Same for a batch: only the products the replica holds if the fetch fails
+    public Map<Long, ProductDto> getProductsWithoutToken(Collection<Long> productIds) {
+        try {
+            return getProducts(productIds);
+        } catch (FeignException e) {
+            log.debug("Products {} could not be fetched: {}", productIds, e.getMessage());
+            Map<Long, ProductDto> result = new HashMap<>();
+            for (Long productId : productIds) {
+                ProductEntry entry = products.get(productId);
+                if (entry != null) {
+                    result.put(productId, entry.toDto());
+                }
+            }
+            return result;
+        }
+    }
+
+    // Topic events always win; a fetched copy only fills a gap
+    private void remember(ProductDto product) {
+        products.putIfAbsent(product.getId(), new ProductEntry(product.getId(), product.getName(),
+                product.getPrice(), product.getStock(), product.getImageUrl(), product.isActive(), FETCHED_VERSION));
+    }
+
+    private record ProductEntry(Long id, String name, BigDecimal price, int stock, String imageUrl, boolean active,
+                                long version) {
+
+        // Callers get their own copy, since ProductDto is mutable
+        ProductDto toDto() {
+            ProductDto dto = new ProductDto();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setPrice(price);
+            dto.setStock(stock);
+            dto.setImageUrl(imageUrl);
+            dto.setActive(active);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.quickcart.cart_service.store;
+
+public record CartLine(Long id, Long productId, int quantity) {
+}
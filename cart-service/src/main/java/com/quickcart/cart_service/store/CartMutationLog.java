@@ -0,0 +1,180 @@
+package com.quickcart.cart_service.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Append-only log of cart states, split into segments. A segment is sealed when the store starts a
+// flush and deleted once everything it covers is in MySQL; leftovers are replayed on startup.
+@Slf4j
+class CartMutationLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "cart-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private long nextSegment;
+    private Path activeSegment;
+    private FileOutputStream activeStream;
+    private BufferedWriter activeWriter;
+
+    CartMutationLog(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            this.nextSegment = listSegments().stream()
+                    .mapToLong(CartMutationLog::segmentNumber)
+                    .max()
+                    .orElse(0) + 1;
+            openNextSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open cart log in " + directory, e);
+        }
+    }
+
+    // Flushed to the OS on every append so a process crash loses nothing; reaches the disk on sync()
+    // or rotation
+    synchronized void append(CartState state) {
+        try {
+            activeWriter.write(state.toLogRecord());
+            activeWriter.newLine();
+            activeWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to cart log " + activeSegment, e);
+        }
+    }
+
+    // One fsync for everything appended since the last one
+    synchronized void sync() {
+        if (activeWriter == null) {
+            return;
+        }
+        try {
+            activeWriter.flush();
+            activeStream.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync cart log " + activeSegment, e);
+        }
+    }
+
+    // Seals the active segment and returns every sealed segment, oldest first
+    synchronized List<Path> rotate() {
+        try {
+            closeActiveSegment();
+            openNextSegment();
+            return sealedSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate cart log in " + directory, e);
+        }
+    }
+
+    synchronized List<Path> sealedSegments() {
+        try {
+            return listSegments().stream()
+                    .filter(segment -> !segment.equals(activeSegment))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list cart log segments in " + directory, e);
+        }
+    }
+
+    // Only the last record of a segment can be torn: appends reach the disk on the next sync, so a power
+    // loss can leave it half written. It is skipped; a bad record anywhere else is corruption and fails.
+    List<CartState> read(List<Path> segments) {
+        List<CartState> states = new ArrayList<>();
+        for (Path segment : segments) {
+            String content;
+            try {
+                content = Files.readString(segment, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read cart log segment " + segment, e);
+            }
+
+            List<String> records = content.lines().toList();
+            for (int i = 0; i < records.size(); i++) {
+                String record = records.get(i);
+                if (record.isBlank()) {
+                    continue;
+                }
+
+                boolean last = i == records.size() - 1;
+                // A complete record always ends with its newline, even when what is there parses
+                if (last && !content.endsWith("\n")) {
+                    log.warn("Skipping torn last record of cart log segment {}: {}", segment, record);
+                    continue;
+                }
+                try {
+                    states.add(CartState.fromLogRecord(record));
+                } catch (RuntimeException e) {
+                    if (!last) {
+                        throw new IllegalStateException("Corrupt record " + (i + 1) + " in cart log segment " + segment, e);
+                    }
+                    log.warn("Skipping torn last record of cart log segment {}: {}", segment, record);
+                }
+            }
+        }
+        return states;
+    }
+
+    void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete cart log segment " + segment, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            closeActiveSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close cart log segment " + activeSegment, e);
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        activeSegment = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextSegment++, SEGMENT_SUFFIX));
+        activeStream = new FileOutputStream(activeSegment.toFile(), true);
+        activeWriter = new BufferedWriter(new OutputStreamWriter(activeStream, StandardCharsets.UTF_8));
+    }
+
+    private void closeActiveSegment() throws IOException {
+        if (activeWriter == null) {
+            return;
+        }
+        activeWriter.flush();
+        activeStream.getFD().sync();
+        activeWriter.close();
+        activeWriter = null;
+        activeStream = null;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.quickcart.cart_service.store;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record CartOperation(Type type, Long productId, int quantity) {
+
+    public enum Type {
+        ADD, SET, REMOVE,
+        // ADD capped at the max quantity instead of failing; never lowers a line. Internal only (guest merge).
+        MERGE
+    }
+
+    // Replays the operations over the current quantities and checks stock once on the outcome.
+    // Returns the final quantity of every product touched (0 means the line goes away).
+    static Map<Long, Integer> resolveQuantities(Map<Long, Integer> current, List<CartOperation> operations,
+                                                Map<Long, Integer> maxQuantities) {
+        Map<Long, Integer> working = new HashMap<>(current);
+        Map<Long, Integer> touched = new LinkedHashMap<>();
+
+        for (CartOperation operation : operations) {
+            int existing = working.getOrDefault(operation.productId(), 0);
+            int updated = switch (operation.type()) {
+                case ADD -> existing + operation.quantity();
+                case SET -> operation.quantity();
+                case REMOVE -> 0;
+                case MERGE -> Math.max(existing,
+                        Math.min(existing + operation.quantity(), maxQuantities.getOrDefault(operation.productId(), 0)));
+            };
+            if (updated == existing && operation.type() == Type.MERGE) {
+                // Nothing to add, e.g. the line is already at or over stock: leave it out of the stock check
+                continue;
+            }
+            working.put(operation.productId(), updated);
+            touched.put(operation.productId(), updated);
+        }
+
+        touched.forEach((productId, quantity) -> {
+            int maxQuantity = maxQuantities.getOrDefault(productId, 0);
+            if (quantity > maxQuantity) {
+                throw CartStore.insufficientStock(maxQuantity);
+            }
+        });
+        return touched;
+    }
+}
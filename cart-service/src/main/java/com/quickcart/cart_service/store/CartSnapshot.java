@@ -0,0 +1,8 @@
+package com.quickcart.cart_service.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Read-only view of a cart, independent of where the store keeps it
+public record CartSnapshot(Long id, Long userId, LocalDateTime createdAt, List<CartLine> items) {
+}
@@ -0,0 +1,56 @@
+package com.quickcart.cart_service.store;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Full state of one cart as written to the mutation log and flushed to MySQL
+record CartState(Long userId, Long cartId, LocalDateTime createdAt, boolean deleted, List<CartLine> lines) {
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String LINE_SEPARATOR = ",";
+    private static final String NO_LINES = "-";
+
+    // userId, cartId, createdAt, deleted, then itemId:productId:quantity for each line
+    String toLogRecord() {
+        StringBuilder record = new StringBuilder()
+                .append(userId).append(FIELD_SEPARATOR)
+                .append(cartId).append(FIELD_SEPARATOR)
+                .append(createdAt).append(FIELD_SEPARATOR)
+                .append(deleted ? 1 : 0).append(FIELD_SEPARATOR);
+
+        if (lines.isEmpty()) {
+            record.append(NO_LINES);
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            CartLine line = lines.get(i);
+            if (i > 0) {
+                record.append(LINE_SEPARATOR);
+            }
+            record.append(line.id()).append(':').append(line.productId()).append(':').append(line.quantity());
+        }
+        return record.toString();
+    }
+
+    static CartState fromLogRecord(String record) {
+        String[] fields = record.split(FIELD_SEPARATOR);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Malformed cart log record: " + record);
+        }
+
+        List<CartLine> lines = new ArrayList<>();
+        if (!NO_LINES.equals(fields[4])) {
+            for (String line : fields[4].split(LINE_SEPARATOR)) {
+                String[] parts = line.split(":");
+                lines.add(new CartLine(Long.valueOf(parts[0]), Long.valueOf(parts[1]), Integer.parseInt(parts[2])));
+            }
+        }
+
+        return new CartState(
+                Long.valueOf(fields[0]),
+                Long.valueOf(fields[1]),
+                LocalDateTime.parse(fields[2]),
+                "1".equals(fields[3]),
+                List.copyOf(lines));
+    }
+}
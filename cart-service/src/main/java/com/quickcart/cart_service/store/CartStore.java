@@ -0,0 +1,51 @@
+package com.quickcart.cart_service.store;
+
+import com.quickcart.common.exception.ValidationException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Storage engine behind the cart services, selected with cart.store.mode (jpa | write-behind)
+public interface CartStore {
+
+    // Returns the user's cart, creating an empty one if needed
+    CartSnapshot getCart(Long userId);
+
+    // Read-only view of the user's lines; empty if there is no cart, and never creates one
+    List<CartLine> getLines(Long userId);
+
+    // Adds to the product's line (creating it if needed); the cart is left unchanged if the
+    // resulting quantity would exceed maxQuantity
+    CartLine addQuantity(Long userId, Long productId, int quantity, int maxQuantity);
+
+    Optional<CartLine> findLine(Long userId, Long itemId);
+
+    CartLine setQuantity(Long userId, Long itemId, int quantity);
+
+    // Removes the line and drops the cart once it is empty
+    void removeLine(Long userId, Long itemId);
+
+    // Applies all operations atomically: either every one lands or the cart is left unchanged.
+    // maxQuantities holds the stock limit of each product an ADD, SET or MERGE refers to.
+    CartSnapshot applyOperations(Long userId, List<CartOperation> operations, Map<Long, Integer> maxQuantities);
+
+    void deleteCart(Long userId);
+
+    void deleteCartIfPresent(Long userId);
+
+    // Hooks for the abandoned-cart purge, which deletes straight from MySQL. An engine that holds carts
+    // in memory reports those as in use (MySQL's timestamps may be behind) and forgets the purged ones,
+    // so nothing writes them back.
+    default boolean holdsCart(Long userId) {
+        return false;
+    }
+
+    default void forgetPurged(Collection<Long> userIds) {
+    }
+
+    static ValidationException insufficientStock(int available) {
+        return new ValidationException(String.format("Only %d units available", available));
+    }
+}
@@ -0,0 +1,88 @@
+package com.quickcart.cart_service.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quickcart.common.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Anonymous carts keyed by the guest cookie id. Never written to MySQL: they are dropped when idle
+// for the TTL or when the store is full, and only become real carts when merged after login.
+// Per instance, not shared: the gateway keeps a guest on the instance that issued the cookie
+// (api-gateway LoadBalancerConfig), and a guest whose instance goes away starts a new cart.
+@Component
+public class GuestCartStore {
+
+    private final Cache<String, GuestCart> carts;
+    private final int maxLines;
+
+    public GuestCartStore(@Value("${cart.guest.max-carts:100000}") long maxCarts,
+                          @Value("${cart.guest.max-lines:50}") int maxLines,
+                          @Value("${cart.guest.ttl-hours:72}") long ttlHours) {
+        this.carts = Caffeine.newBuilder()
+                .maximumSize(maxCarts)
+                .expireAfterAccess(Duration.ofHours(ttlHours))
+                .build();
+        this.maxLines = maxLines;
+    }
+
+    // productId -> quantity, empty if the guest has no cart
+    public Map<Long, Integer> getLines(String guestId) {
+        GuestCart cart = carts.getIfPresent(guestId);
+        return cart != null ? cart.copy() : Map.of();
+    }
+
+    public Map<Long, Integer> addQuantity(String guestId, Long productId, int quantity, int maxQuantity) {
+        GuestCart cart = carts.get(guestId, id -> new GuestCart());
+        synchronized (cart) {
+            int newQuantity = cart.lines.getOrDefault(productId, 0) + quantity;
+            putLine(cart, productId, newQuantity, maxQuantity);
+            return cart.copy();
+        }
+    }
+
+    public Map<Long, Integer> setQuantity(String guestId, Long productId, int quantity, int maxQuantity) {
+        GuestCart cart = carts.get(guestId, id -> new GuestCart());
+        synchronized (cart) {
+            putLine(cart, productId, quantity, maxQuantity);
+            return cart.copy();
+        }
+    }
+
+    public Map<Long, Integer> removeLine(String guestId, Long productId) {
+        GuestCart cart = carts.getIfPresent(guestId);
+        if (cart == null) {
+            return Map.of();
+        }
+        synchronized (cart) {
+            cart.lines.remove(productId);
+            return cart.copy();
+        }
+    }
+
+    public void delete(String guestId) {
+        carts.invalidate(guestId);
+    }
+
+    private void putLine(GuestCart cart, Long productId, int quantity, int maxQuantity) {
+        if (quantity > maxQuantity) {
+            throw CartStore.insufficientStock(maxQuantity);
+        }
+        if (!cart.lines.containsKey(productId) && cart.lines.size() >= maxLines) {
+            throw new ValidationException("A guest cart can hold at most " + maxLines + " products");
+        }
+        cart.lines.put(productId, quantity);
+    }
+
+    private static final class GuestCart {
+        private final Map<Long, Integer> lines = new LinkedHashMap<>();
+
+        private synchronized Map<Long, Integer> copy() {
+            return new LinkedHashMap<>(lines);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.quickcart.cart_service.store;
+
+import com.quickcart.cart_service.model.Cart;
+import com.quickcart.cart_service.model.CartItem;
+import com.quickcart.cart_service.repository.CartItemRepository;
+import com.quickcart.cart_service.repository.CartRepository;
+import com.quickcart.common.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Default engine: every mutation is its own MySQL transaction
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "jpa", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+
+    @Override
+    @Transactional
+    public CartSnapshot getCart(Long userId) {
+        return toSnapshot(getOrCreateCart(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CartLine> getLines(Long userId) {
+        return cartRepository.findByUserId(userId)
+                .map(cart -> cart.getItems().stream().map(this::toLine).toList())
+                .orElse(List.of());
+    }
+
+    @Override
+    @Transactional
+    public CartLine addQuantity(Long userId, Long productId, int quantity, int maxQuantity) {
+        Cart cart = lockOrCreateCart(userId);
+
+        cartItemRepository.upsertQuantity(cart.getId(), productId, quantity);
+
+        // One line per product, so the stored quantity is everything this cart holds of it;
+        // the exception rolls the upsert back
+        CartItem item = cartItemRepository.findByCart_IdAndProductId(cart.getId(), productId)
+                .orElseThrow(() -> new ValidationException("Cart item not found"));
+        if (item.getQuantity() > maxQuantity) {
+            throw CartStore.insufficientStock(maxQuantity);
+        }
+
+        return toLine(item);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CartLine> findLine(Long userId, Long itemId) {
+        return cartItemRepository.findByCartUserIdAndId(userId, itemId)
+                .map(this::toLine);
+    }
+
+    @Override
+    @Transactional
+    public CartLine setQuantity(Long userId, Long itemId, int quantity) {
+        CartItem item = cartItemRepository.findByCartUserIdAndId(userId, itemId)
+                .orElseThrow(() -> new ValidationException("Item not found in cart"));
+
+        item.setQuantity(quantity);
+        return toLine(cartItemRepository.save(item));
+    }
+
+    @Override
+    @Transactional
+    public void removeLine(Long userId, Long itemId) {
+        Cart cart = cartRepository.findByUserId(userId)
+                .orElseThrow(() -> new ValidationException("Item not found in cart"));
+
+        if (cartItemRepository.deleteByCartIdAndId(cart.getId(), itemId) == 0) {
+            throw new ValidationException("Item not found in cart");
+        }
+
+        cartRepository.deleteIfEmpty(cart.getId());
+    }
+
+    @Override
+    @Transactional
+    public CartSnapshot applyOperations(Long userId, List<CartOperation> operations, Map<Long, Integer> maxQuantities) {
+        // Locked, so an add that commits between reading the lines and writing them back is not lost
+        Cart cart = lockOrCreateCart(userId);
+
+        Map<Long, CartItem> itemsByProduct = cart.getItems().stream()
+                .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
+        Map<Long, Integer> current = itemsByProduct.values().stream()
+                .collect(Collectors.toMap(CartItem::getProductId, CartItem::getQuantity));
+
+        CartOperation.resolveQuantities(current, operations, maxQuantities).forEach((productId, quantity) -> {
+            CartItem item = itemsByProduct.get(productId);
+            if (quantity == 0) {
+                if (item != null) {
+                    cart.getItems().remove(item);
+                }
+            } else if (item != null) {
+                item.setQuantity(quantity);
+            } else {
+                CartItem newItem = new CartItem();
+                newItem.setCart(cart);
+                newItem.setProductId(productId);
+                newItem.setQuantity(quantity);
+                cart.getItems().add(newItem);
+            }
+        });
+
+        // Flush now so new lines have ids in the returned snapshot
+        cartRepository.flush();
+        CartSnapshot snapshot = toSnapshot(cart);
+
+        // Same as removeLine: a cart without lines goes away
+        if (cart.getItems().isEmpty()) {
+            cartRepository.delete(cart);
+        }
+        return snapshot;
+    }
+
+    @Override
+    @Transactional
+    public void deleteCart(Long userId) {
+        Cart cart = cartRepository.findByUserId(userId)
+                .orElseThrow(() -> new ValidationException("No cart found for user"));
+        cartRepository.delete(cart);
+    }
+
+    @Override
+    @Transactional
+    public void deleteCartIfPresent(Long userId) {
+        cartRepository.findByUserId(userId).ifPresent(cartRepository::delete);
+    }
+
+    private Cart getOrCreateCart(Long userId) {
+        return cartRepository.findByUserId(userId)
+                .orElseGet(() -> {
+                    Cart newCart = new Cart();
+                    newCart.setUserId(userId);
+                    return cartRepository.save(newCart);
+                });
+    }
+
+    private Cart lockOrCreateCart(Long userId) {
+        return cartRepository.findByUserIdForUpdate(userId)
+                .orElseGet(() -> {
+                    Cart newCart = new Cart();
+                    newCart.setUserId(userId);
+                    return cartRepository.save(newCart);
+                });
+    }
+
+    private CartSnapshot toSnapshot(Cart cart) {
+        return new CartSnapshot(cart.getId(), cart.getUserId(), cart.getCreatedAt(),
+                cart.getItems().stream().map(this::toLine).toList());
+    }
+
+    private CartLine toLine(CartItem item) {
+        return new CartLine(item.getId(), item.getProductId(), item.getQuantity());
+    }
+}
@@ -0,0 +1,457 @@
+package com.quickcart.cart_service.store;
+
+import com.quickcart.cart_service.model.Cart;
+import com.quickcart.cart_service.repository.CartRepository;
+import com.quickcart.common.exception.ValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Keeps active carts in memory and writes them to MySQL in batches. Every mutation is also appended to a
+// local log, so a crash between flushes is recovered on the next start. Appends reach the OS at once and
+// the disk on every log sync (cart.store.log-sync-ms): a process crash loses nothing, an OS crash or
+// power loss at most the mutations of the last sync interval.
+// Ids are allocated in memory, so this engine assumes one cart-service instance (or user-sticky routing).
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "write-behind")
+public class WriteBehindCartStore implements CartStore {
+
+    private final CartRepository cartRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CartMutationLog mutationLog;
+    private final Shard[] shards;
+    private final int flushBatchSize;
+    private final long idleTimeoutNanos;
+
+    private final AtomicLong cartIds = new AtomicLong();
+    private final AtomicLong itemIds = new AtomicLong();
+
+    public WriteBehindCartStore(CartRepository cartRepository,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${cart.store.shards:64}") int shardCount,
+                                @Value("${cart.store.flush-batch-size:500}") int flushBatchSize,
+                                @Value("${cart.store.idle-minutes:30}") long idleMinutes,
+                                @Value("${cart.store.log-dir:./data/cart-log}") String logDirectory) {
+        this.cartRepository = cartRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.mutationLog = new CartMutationLog(Path.of(logDirectory));
+        this.flushBatchSize = flushBatchSize;
+        this.idleTimeoutNanos = Duration.ofMinutes(idleMinutes).toNanos();
+
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    @PostConstruct
+    void recover() {
+        // Replay whatever the previous run logged but did not get to flush; the last state per user wins
+        List<Path> segments = mutationLog.sealedSegments();
+        Map<Long, CartState> latest = new LinkedHashMap<>();
+        for (CartState state : mutationLog.read(segments)) {
+            latest.put(state.userId(), state);
+        }
+        if (!latest.isEmpty()) {
+            writeInBatches(new ArrayList<>(latest.values()));
+            log.info("Recovered {} carts from the cart log", latest.size());
+        }
+        mutationLog.delete(segments);
+
+        cartIds.set(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM carts", Long.class));
+        itemIds.set(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cart_items", Long.class));
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.log-sync-ms:200}")
+    public void syncLog() {
+        mutationLog.sync();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        mutationLog.close();
+    }
+
+    @Override
+    public CartSnapshot getCart(Long userId) {
+        return withCart(userId, true, cart -> {
+            if (cart.deleted) {
+                revive(cart);
+            }
+            return cart.snapshot();
+        });
+    }
+
+    @Override
+    public List<CartLine> getLines(Long userId) {
+        return withCart(userId, false, cart -> cart == null || cart.deleted
+                ? List.<CartLine>of()
+                : cart.snapshot().items());
+    }
+
+    @Override
+    public CartLine addQuantity(Long userId, Long productId, int quantity, int maxQuantity) {
+        return withCart(userId, true, cart -> {
+            CartLine existing = cart.deleted ? null : cart.lines.get(productId);
+            int newQuantity = (existing != null ? existing.quantity() : 0) + quantity;
+            if (newQuantity > maxQuantity) {
+                throw CartStore.insufficientStock(maxQuantity);
+            }
+
+            if (cart.deleted) {
+                revive(cart);
+            }
+            Long itemId = existing != null ? existing.id() : itemIds.incrementAndGet();
+            CartLine line = new CartLine(itemId, productId, newQuantity);
+            cart.lines.put(productId, line);
+            recordChange(cart);
+            return line;
+        });
+    }
+
+    @Override
+    public Optional<CartLine> findLine(Long userId, Long itemId) {
+        return withCart(userId, false, cart -> cart == null || cart.deleted
+                ? Optional.<CartLine>empty()
+                : cart.findLine(itemId));
+    }
+
+    @Override
+    public CartLine setQuantity(Long userId, Long itemId, int quantity) {
+        return withCart(userId, false, cart -> {
+            CartLine existing = requireLine(cart, itemId);
+            CartLine line = new CartLine(existing.id(), existing.productId(), quantity);
+            cart.lines.put(existing.productId(), line);
+            recordChange(cart);
+            return line;
+        });
+    }
+
+    @Override
+    public void removeLine(Long userId, Long itemId) {
+        withCart(userId, false, cart -> {
+            CartLine existing = requireLine(cart, itemId);
+            cart.lines.remove(existing.productId());
+            if (cart.lines.isEmpty()) {
+                cart.deleted = true;
+            }
+            recordChange(cart);
+            return null;
+        });
+    }
+
+    @Override
+    public CartSnapshot applyOperations(Long userId, List<CartOperation> operations, Map<Long, Integer> maxQuantities) {
+        return withCart(userId, true, cart -> {
+            Map<Long, Integer> current = new HashMap<>();
+            if (!cart.deleted) {
+                cart.lines.values().forEach(line -> current.put(line.productId(), line.quantity()));
+            }
+
+            // Resolved (and stock-checked) before touching the cart, so a failure leaves it as it was
+            Map<Long, Integer> resolved = CartOperation.resolveQuantities(current, operations, maxQuantities);
+
+            if (cart.deleted) {
+                revive(cart);
+            }
+            resolved.forEach((productId, quantity) -> {
+                CartLine existing = cart.lines.get(productId);
+                if (quantity == 0) {
+                    cart.lines.remove(productId);
+                } else {
+                    Long itemId = existing != null ? existing.id() : itemIds.incrementAndGet();
+                    cart.lines.put(productId, new CartLine(itemId, productId, quantity));
+                }
+            });
+            // Same as removeLine: a cart without lines goes away
+            if (cart.lines.isEmpty()) {
+                cart.deleted = true;
+            }
+            recordChange(cart);
+            return cart.snapshot();
+        });
+    }
+
+    @Override
+    public void deleteCart(Long userId) {
+        withCart(userId, false, cart -> {
+            if (cart == null || cart.deleted) {
+                throw new ValidationException("No cart found for user");
+            }
+            markDeleted(cart);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteCartIfPresent(Long userId) {
+        withCart(userId, false, cart -> {
+            if (cart != null && !cart.deleted) {
+                markDeleted(cart);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean holdsCart(Long userId) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            return shard.carts.containsKey(userId);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // A cart changed since the purge checked it is dirty and kept: its next flush writes it back
+    @Override
+    public void forgetPurged(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            Shard shard = shardFor(userId);
+            shard.lock.lock();
+            try {
+                MemCart cart = shard.carts.get(userId);
+                if (cart != null && cart.version == cart.flushedVersion) {
+                    shard.carts.remove(userId);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    // Writes every dirty cart to MySQL, then drops log segments and carts that are no longer needed
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        // Rotate before collecting: anything logged in a sealed segment is already marked dirty
+        List<Path> sealed = mutationLog.rotate();
+
+        List<PendingFlush> pending = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (MemCart cart : shard.carts.values()) {
+                    if (cart.version != cart.flushedVersion) {
+                        pending.add(new PendingFlush(cart.state(), cart.version));
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += flushBatchSize) {
+            List<PendingFlush> batch = pending.subList(from, Math.min(from + flushBatchSize, pending.size()));
+            writeInBatches(batch.stream().map(PendingFlush::state).toList());
+            markFlushed(batch);
+        }
+
+        mutationLog.delete(sealed);
+        evictIdle();
+    }
+
+    // With create = false a user who has no cart gets null, and nothing is cached or allocated for them
+    private <T> T withCart(Long userId, boolean create, Function<MemCart, T> action) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            // Loading under the shard lock keeps two requests from loading the same cart twice
+            MemCart cart = shard.carts.computeIfAbsent(userId, id -> create ? loadOrCreate(id) : load(id));
+            if (cart != null) {
+                cart.lastAccessNanos = System.nanoTime();
+            }
+            return action.apply(cart);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private MemCart load(Long userId) {
+        return transactionTemplate.execute(status -> cartRepository.findByUserId(userId)
+                .map(this::toMemCart)
+                .orElse(null));
+    }
+
+    private MemCart loadOrCreate(Long userId) {
+        MemCart loaded = load(userId);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        // Not in MySQL either: start as a deleted placeholder; it gets an id when the first write revives it
+        MemCart placeholder = new MemCart(userId, null, LocalDateTime.now());
+        placeholder.deleted = true;
+        placeholder.flushedVersion = placeholder.version;
+        return placeholder;
+    }
+
+    private MemCart toMemCart(Cart cart) {
+        MemCart memCart = new MemCart(cart.getUserId(), cart.getId(), cart.getCreatedAt());
+        cart.getItems().forEach(item -> memCart.lines.put(item.getProductId(),
+                new CartLine(item.getId(), item.getProductId(), item.getQuantity())));
+        return memCart;
+    }
+
+    private void revive(MemCart cart) {
+        if (cart.id == null) {
+            cart.id = cartIds.incrementAndGet();
+        }
+        cart.deleted = false;
+        cart.createdAt = LocalDateTime.now();
+        recordChange(cart);
+    }
+
+    private void markDeleted(MemCart cart) {
+        cart.deleted = true;
+        cart.lines.clear();
+        recordChange(cart);
+    }
+
+    private CartLine requireLine(MemCart cart, Long itemId) {
+        if (cart == null || cart.deleted) {
+            throw new ValidationException("Item not found in cart");
+        }
+        return cart.findLine(itemId)
+                .orElseThrow(() -> new ValidationException("Item not found in cart"));
+    }
+
+    private void recordChange(MemCart cart) {
+        cart.version++;
+        mutationLog.append(cart.state());
+    }
+
+    private void writeInBatches(List<CartState> states) {
+        List<Object[]> cartIdArgs = new ArrayList<>();
+        List<Object[]> cartUpserts = new ArrayList<>();
+        List<Object[]> cartDeletes = new ArrayList<>();
+        List<Object[]> itemInserts = new ArrayList<>();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (CartState state : states) {
+            cartIdArgs.add(new Object[]{state.cartId()});
+            if (state.deleted()) {
+                cartDeletes.add(new Object[]{state.cartId()});
+                continue;
+            }
+            cartUpserts.add(new Object[]{state.cartId(), state.userId(), state.createdAt(), now});
+            for (CartLine line : state.lines()) {
+                itemInserts.add(new Object[]{line.id(), state.cartId(), line.productId(), line.quantity(), now});
+            }
+        }
+
+        // Lines are rewritten wholesale per cart, which keeps the flush a fixed four batched statements
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("DELETE FROM cart_items WHERE cart_id = ?", cartIdArgs);
+            jdbcTemplate.batchUpdate("DELETE FROM carts WHERE id = ?", cartDeletes);
+            jdbcTemplate.batchUpdate("INSERT INTO carts (id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE created_at = VALUES(created_at), updated_at = VALUES(updated_at)", cartUpserts);
+            jdbcTemplate.batchUpdate("INSERT INTO cart_items (id, cart_id, product_id, quantity, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?)", itemInserts);
+        });
+    }
+
+    private void markFlushed(List<PendingFlush> batch) {
+        for (PendingFlush flushed : batch) {
+            Shard shard = shardFor(flushed.state().userId());
+            shard.lock.lock();
+            try {
+                MemCart cart = shard.carts.get(flushed.state().userId());
+                if (cart != null && cart.flushedVersion < flushed.version()) {
+                    cart.flushedVersion = flushed.version();
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    // Only clean carts are evicted, so a reload from MySQL always sees the latest state
+    private void evictIdle() {
+        long now = System.nanoTime();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<MemCart> carts = shard.carts.values().iterator();
+                while (carts.hasNext()) {
+                    MemCart cart = carts.next();
+                    boolean clean = cart.version == cart.flushedVersion;
+                    if (clean && (cart.deleted || now - cart.lastAccessNanos > idleTimeoutNanos)) {
+                        carts.remove();
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private Shard shardFor(Long userId) {
+        return shards[Math.floorMod(userId.hashCode(), shards.length)];
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, MemCart> carts = new HashMap<>();
+    }
+
+    private static final class MemCart {
+        private final Long userId;
+        private Long id; // null until a placeholder is first written to
+        private LocalDateTime createdAt;
+        private final Map<Long, CartLine> lines = new LinkedHashMap<>(); // keyed by productId
+        private boolean deleted;
+        private long version;
+        private long flushedVersion;
+        private long lastAccessNanos;
+
+        private MemCart(Long userId, Long id, LocalDateTime createdAt) {
+            this.userId = userId;
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+
+        private Optional<CartLine> findLine(Long itemId) {
+            return lines.values().stream()
+                    .filter(line -> line.id().equals(itemId))
+                    .findFirst();
+        }
+
+        private CartSnapshot snapshot() {
+            return new CartSnapshot(id, userId, createdAt, List.copyOf(lines.values()));
+        }
+
+        private CartState state() {
+            return new CartState(userId, id, createdAt, deleted, List.copyOf(lines.values()));
+        }
+    }
+
+    private record PendingFlush(CartState state, long version) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.quickcart.cart_service.store;
+
+import com.quickcart.cart_service.repository.CartRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+
+// MySQL is replaced by an in-memory copy of carts/cart_items built from the flushed batches;
+// CartRepository finds nothing, so every cart starts out in the store.
+class WriteBehindCartStoreTest {
+
+    private static final long USER_ID = 7L;
+    private static final long PRODUCT_ID = 100L;
+
+    @TempDir
+    Path logDirectory;
+
+    private final CartRepository cartRepository = mock(CartRepository.class);
+    private final FakeDatabase database = new FakeDatabase();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+    private final List<WriteBehindCartStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void closeStores() {
+        stores.forEach(WriteBehindCartStore::shutdown);
+    }
+
+    @Test
+    void replaysCartsLoggedBeforeACrash() throws IOException {
+        WriteBehindCartStore store = startStore();
+        store.addQuantity(USER_ID, PRODUCT_ID, 2, 10);
+        store.addQuantity(USER_ID, PRODUCT_ID, 1, 10);
+        // No flush and no shutdown: the process dies here
+
+        startStore();
+
+        assertThat(database.itemsOf(USER_ID)).containsExactly(entry(PRODUCT_ID, 3));
+        // Only the new store's active segment is left
+        assertThat(logSegments()).hasSize(1);
+    }
+
+    @Test
+    void tornLastRecordIsSkippedOnRecovery() throws IOException {
+        WriteBehindCartStore store = startStore();
+        store.addQuantity(USER_ID, PRODUCT_ID, 2, 10);
+        store.addQuantity(USER_ID, PRODUCT_ID, 1, 10);
+
+        // Power loss before the last append was synced: it is cut short, newline included
+        Path segment = logSegments().getFirst();
+        byte[] written = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(written, written.length - 4));
+
+        startStore();
+
+        assertThat(database.itemsOf(USER_ID)).containsExactly(entry(PRODUCT_ID, 2));
+    }
+
+    @Test
+    void changeMadeDuringAFlushIsWrittenByTheNextFlush() {
+        WriteBehindCartStore store = startStore();
+        store.addQuantity(USER_ID, PRODUCT_ID, 1, 10);
+
+        // Lands after the flush rotated the log and collected the cart, while its batch is being written
+        database.onNextItemInsert(() -> store.addQuantity(USER_ID, PRODUCT_ID, 1, 10));
+        store.flush();
+        assertThat(database.itemsOf(USER_ID)).containsExactly(entry(PRODUCT_ID, 1));
+
+        store.flush();
+        assertThat(database.itemsOf(USER_ID)).containsExactly(entry(PRODUCT_ID, 2));
+    }
+
+    @Test
+    void changeMadeDuringAFlushSurvivesACrash() {
+        WriteBehindCartStore store = startStore();
+        store.addQuantity(USER_ID, PRODUCT_ID, 1, 10);
+
+        database.onNextItemInsert(() -> store.addQuantity(USER_ID, PRODUCT_ID, 1, 10));
+        store.flush();
+
+        // The flush dropped the sealed segment, but not the one holding the later change
+        startStore();
+        assertThat(database.itemsOf(USER_ID)).containsExactly(entry(PRODUCT_ID, 2));
+    }
+
+    @Test
+    void concurrentMutationsAndFlushesLoseNothing() throws Exception {
+        WriteBehindCartStore store = startStore();
+        int threads = 8;
+        int addsPerThread = 200;
+        int users = 4;
+
+        AtomicBoolean adding = new AtomicBoolean(true);
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads + 1)) {
+            Future<?> flusher = executor.submit(() -> {
+                while (adding.get()) {
+                    store.flush();
+                }
+            });
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long productId = PRODUCT_ID + t % 2;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < addsPerThread; i++) {
+                        for (int u = 0; u < users; u++) {
+                            store.addQuantity(USER_ID + u, productId, 1, Integer.MAX_VALUE);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            adding.set(false);
+            flusher.get();
+        }
+        store.flush();
+
+        int expected = threads / 2 * addsPerThread;
+        List<Long> itemIds = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            assertThat(database.itemsOf(USER_ID + u))
+                    .containsOnly(entry(PRODUCT_ID, expected), entry(PRODUCT_ID + 1, expected));
+            store.getLines(USER_ID + u).forEach(line -> itemIds.add(line.id()));
+        }
+        assertThat(itemIds).hasSize(users * 2).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void readsDoNotCreateCarts() {
+        WriteBehindCartStore store = startStore();
+
+        assertThat(store.getLines(USER_ID)).isEmpty();
+        assertThat(store.findLine(USER_ID, 1L)).isEmpty();
+        store.deleteCartIfPresent(USER_ID);
+        store.flush();
+
+        assertThat(database.carts).isEmpty();
+        // No id was used up either: the first cart created takes the one after MAX(id)
+        assertThat(store.getCart(USER_ID).id()).isEqualTo(1L);
+    }
+
+    @Test
+    void cartEmptiedByOperationsIsDeleted() {
+        WriteBehindCartStore store = startStore();
+        store.addQuantity(USER_ID, PRODUCT_ID, 1, 10);
+        store.flush();
+        assertThat(database.carts).hasSize(1);
+
+        store.applyOperations(USER_ID,
+                List.of(new CartOperation(CartOperation.Type.REMOVE, PRODUCT_ID, 0)), Map.of());
+        store.flush();
+
+        assertThat(database.carts).isEmpty();
+        assertThat(store.getLines(USER_ID)).isEmpty();
+    }
+
+    private WriteBehindCartStore startStore() {
+        WriteBehindCartStore store = new WriteBehindCartStore(cartRepository, database, transactionTemplate,
+                4, 2, 30, logDirectory.toString());
+        store.recover();
+        stores.add(store);
+        return store;
+    }
+
+    private List<Path> logSegments() throws IOException {
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            return files.toList();
+        }
+    }
+
+    // Applies the four statements WriteBehindCartStore flushes with; MAX(id) queries answer 0
+    private static final class FakeDatabase extends JdbcTemplate {
+        private final Map<Long, Long> carts = new HashMap<>(); // cart id -> user id
+        private final Map<Long, Map<Long, Integer>> cartItems = new HashMap<>(); // cart id -> product id -> quantity
+        private Runnable itemInsertHook;
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            return requiredType.cast(0L);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            synchronized (this) {
+                for (Object[] args : batchArgs) {
+                    if (sql.startsWith("DELETE FROM cart_items")) {
+                        cartItems.remove((Long) args[0]);
+                    } else if (sql.startsWith("DELETE FROM carts")) {
+                        carts.remove((Long) args[0]);
+                    } else if (sql.startsWith("INSERT INTO carts")) {
+                        carts.put((Long) args[0], (Long) args[1]);
+                    } else if (sql.startsWith("INSERT INTO cart_items")) {
+                        cartItems.computeIfAbsent((Long) args[1], cartId -> new HashMap<>())
+                                .put((Long) args[2], (Integer) args[3]);
+                    }
+                }
+            }
+
+            if (sql.startsWith("INSERT INTO cart_items") && itemInsertHook != null) {
+                Runnable hook = itemInsertHook;
+                itemInsertHook = null;
+                hook.run();
+            }
+            return new int[batchArgs.size()];
+        }
+
+        void onNextItemInsert(Runnable hook) {
+            itemInsertHook = hook;
+        }
+
+        synchronized Map<Long, Integer> itemsOf(Long userId) {
+            return carts.entrySet().stream()
+                    .filter(cart -> cart.getValue().equals(userId))
+                    .findFirst()
+                    .map(cart -> Map.copyOf(cartItems.getOrDefault(cart.getKey(), Map.of())))
+                    .orElse(Map.of());
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
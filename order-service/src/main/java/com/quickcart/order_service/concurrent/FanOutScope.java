@@ -0,0 +1,69 @@
+package com.quickcart.order_service.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+// Runs independent lookups side by side, scoped to a try-with-resources block: join() waits for all
+// of them, the first failure cancels the rest and is rethrown, and close() cancels anything still
+// running, so no fork outlives the block. This is the shutdown-on-failure shape of StructuredTaskScope,
+// which is still a preview API on our JDK. Context propagation is the executor's job (see OrderPlacementConfig).
+public final class FanOutScope implements AutoCloseable {
+
+    private final CompletionService<Object> completions;
+    private final List<Future<Object>> forks = new ArrayList<>();
+
+    private FanOutScope(ExecutorService executor) {
+        this.completions = new ExecutorCompletionService<>(executor);
+    }
+
+    public static FanOutScope open(ExecutorService executor) {
+        return new FanOutScope(executor);
+    }
+
+    // The supplier may only be called after join() has returned
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> fork(Callable<? extends T> task) {
+        Future<Object> fork = completions.submit(task::call);
+        forks.add(fork);
+        return () -> (T) fork.resultNow();
+    }
+
+    // Completes in finishing order, so a failure is seen as soon as it happens, not after slower forks
+    public void join() {
+        try {
+            for (int i = 0; i < forks.size(); i++) {
+                completions.take().get();
+            }
+        } catch (ExecutionException e) {
+            cancelAll();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for concurrent lookups", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    // Interrupting a virtual thread blocked on a socket closes the socket, so a cancelled Feign call stops promptly
+    private void cancelAll() {
+        forks.forEach(fork -> fork.cancel(true));
+    }
+}
@@ -0,0 +1,20 @@
+package com.quickcart.order_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class OrderPlacementConfig {
+
+    // Runs the independent remote lookups of order placement side by side, one virtual thread per
+    // lookup, so a blocked Feign call costs no platform thread. Tasks carry the submitting request's
+    // security context, which Feign needs to forward the JWT.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService orderFanOutExecutor() {
+        return new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,21 @@
+package com.quickcart.order_service.config;
+
+import com.quickcart.common.persistence.IdSequenceAligner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class PersistenceConfig {
+
+    // Archived orders keep their ids, so the archive tables count as well
+    @Bean
+    public IdSequenceAligner idSequenceAligner(JdbcTemplate jdbcTemplate) {
+        return new IdSequenceAligner(jdbcTemplate, Map.of(
+                "orders_seq", List.of("orders", "orders_archive"),
+                "order_items_seq", List.of("order_items", "order_items_archive")));
+    }
+}
@@ -0,0 +1,49 @@
+package com.quickcart.order_service.controller;
+
+import com.quickcart.order_service.dto.response.AnalyticsRebuildResponse;
+import com.quickcart.order_service.dto.response.DailyRevenueResponse;
+import com.quickcart.order_service.dto.response.ProductSalesResponse;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.service.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders/analytics")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class OrderAnalyticsController {
+    private final OrderAnalyticsService orderAnalyticsService;
+
+    // e.g. /api/orders/analytics/revenue?from=2025-01-01&to=2025-01-31; defaults to the last 30 days
+    @GetMapping("/revenue")
+    public List<DailyRevenueResponse> getDailyRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        return orderAnalyticsService.getDailyRevenue(from != null ? from : end.minusDays(29), end);
+    }
+
+    @GetMapping("/status")
+    public Map<Order.Status, Long> getStatusCounts() {
+        return orderAnalyticsService.getStatusCounts();
+    }
+
+    // Best sellers by units, net of cancelled and refunded orders
+    @GetMapping("/products")
+    public List<ProductSalesResponse> getTopProducts(@RequestParam(defaultValue = "20") int limit) {
+        return orderAnalyticsService.getTopProducts(limit);
+    }
+
+    // Recomputes the aggregates from order history
+    @PostMapping("/rebuild")
+    public AnalyticsRebuildResponse rebuild() {
+        return orderAnalyticsService.rebuild();
+    }
+}
@@ -1,18 +1,26 @@
 package com.quickcart.order_service.controller;
 
-import com.quickcart.common.dto.UserDto;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.order_service.dto.request.OrderCancelRequest;
 import com.quickcart.order_service.dto.request.OrderRequest;
+import com.quickcart.order_service.dto.request.OrderSearchRequest;
+import com.quickcart.order_service.dto.request.OrderStatusUpdate;
+import com.quickcart.order_service.dto.response.OrderHistoryResponse;
 import com.quickcart.order_service.dto.response.OrderResponse;
+import com.quickcart.order_service.dto.response.OrderSearchResponse;
+import com.quickcart.order_service.dto.response.OrderStatusUpdateResult;
 import com.quickcart.order_service.feign.UserClient;
 import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.service.BulkOrderStatusService;
+import com.quickcart.order_service.service.IdempotencyService;
+import com.quickcart.order_service.service.OrderSearchService;
 import com.quickcart.order_service.service.OrderService;
 import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -22,31 +30,40 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderSearchService orderSearchService;
+    private final BulkOrderStatusService bulkOrderStatusService;
     private final UserClient userClient;
 
+    // With an Idempotency-Key, a retried request returns the original order instead of placing another
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public OrderResponse placeOrder(@Valid @RequestBody OrderRequest request) {
-        return orderService.placeOrder(request);
+    public OrderResponse placeOrder(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody OrderRequest request) {
+
+        if (idempotencyKey == null) {
+            return orderService.placeOrder(request);
+        }
+
+        return idempotencyService.placeOnce(currentUser.resolveUserId(userClient::getUserByEmail), idempotencyKey, request,
+                () -> orderService.placeOrder(request));
     }
 
     @GetMapping("/{orderId}")
     public OrderResponse getOrderById(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @PathVariable Long orderId) {
 
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        boolean isAdmin = currentUser.getUserRole() == UserDto.UserRole.ADMIN;
-
-        if (isAdmin) {
+        if (currentUser.isAdmin()) {
             return orderService.getOrderById(orderId);
         } else {
-            return orderService.getOrderDetails(orderId, currentUser.getId());
+            return orderService.getOrderDetails(orderId, currentUser.resolveUserId(userClient::getUserByEmail));
         }
     }
 
@@ -57,31 +74,44 @@ public class OrderController {
         return orderService.getAllOrders();
     }
 
+    // e.g. /api/orders/search?status=SHIPPED&placedFrom=2025-01-01T00:00:00&size=50, then &cursor=<nextCursor>
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public OrderSearchResponse searchOrders(OrderSearchRequest request) {
+        return orderSearchService.search(request);
+    }
+
+    // The caller's own orders, newest first, as compact summaries
+    @GetMapping("/history")
+    public OrderHistoryResponse getOrderHistory(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return orderSearchService.getOrderHistory(currentUser.resolveUserId(userClient::getUserByEmail), cursor, size);
+    }
+
     @GetMapping("/user/{email}")
-    @PreAuthorize("#email == principal or hasRole('ADMIN')")
+    @PreAuthorize("#email == principal.email or hasRole('ADMIN')")
     public List<OrderResponse> getUserOrders(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @PathVariable String email) {
+        if (email.equals(currentUser.getEmail()) && currentUser.getUserId() != null) {
+            return orderService.getOrdersByUserId(currentUser.getUserId());
+        }
         return orderService.getOrdersByUserEmail(email);
     }
 
     @PatchMapping("/{orderId}/cancel")
     public OrderResponse cancelOrder(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @PathVariable Long orderId,
             @Valid @RequestBody OrderCancelRequest request) {
 
-        if (authentication == null || authentication.getName() == null) {
-            throw new ValidationException("Unauthenticated");
-        }
-
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-
         if (currentUser == null) {
-            throw new ValidationException("User not found for email: " + email);
+            throw new ValidationException("Unauthenticated");
         }
 
-        return orderService.cancelOrder(currentUser.getId(), orderId, request);
+        return orderService.cancelOrder(currentUser.resolveUserId(userClient::getUserByEmail), orderId, request);
     }
 
     @PutMapping("/{orderId}/status")
@@ -92,4 +122,11 @@ public class OrderController {
             @RequestParam(required = false) String trackingNumber) {
         return orderService.updateStatus(orderId, status, trackingNumber);
     }
-}
\ No newline at end of file
+
+    // Body: [{orderId, status, trackingNumber}]; returns one result per entry, in the same order
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<OrderStatusUpdateResult> updateOrderStatuses(@RequestBody List<OrderStatusUpdate> updates) {
+        return bulkOrderStatusService.updateStatuses(updates);
+    }
+}
@@ -0,0 +1,43 @@
+package com.quickcart.order_service.controller;
+
+import com.quickcart.common.security.AuthenticatedUser;
+import com.quickcart.order_service.dto.request.OrderRequest;
+import com.quickcart.order_service.dto.response.OrderIntakeResponse;
+import com.quickcart.order_service.feign.UserClient;
+import com.quickcart.order_service.service.OrderIntakeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+// Async alternative to POST /api/orders: answers 202 at once, then the client polls the intake
+@RestController
+@RequestMapping("/api/orders/intake")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.intake.enabled", havingValue = "true")
+public class OrderIntakeController {
+    private final OrderIntakeService orderIntakeService;
+    private final UserClient userClient;
+
+    @PostMapping
+    public ResponseEntity<OrderIntakeResponse> submitOrder(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @Valid @RequestBody OrderRequest request) {
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
+        OrderIntakeResponse intake = orderIntakeService.submit(currentUser, userId, request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/intake/" + intake.getIntakeId()))
+                .body(intake);
+    }
+
+    @GetMapping("/{intakeId}")
+    public OrderIntakeResponse getIntake(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @PathVariable String intakeId) {
+        return orderIntakeService.getIntake(intakeId, currentUser.resolveUserId(userClient::getUserByEmail));
+    }
+}
@@ -1,12 +1,12 @@
 package com.quickcart.order_service.controller;
 
-import com.quickcart.common.dto.UserDto;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.order_service.dto.response.OrderItemResponse;
 import com.quickcart.order_service.feign.UserClient;
 import com.quickcart.order_service.service.OrderItemService;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,20 +21,15 @@ public class OrderItemController {
 
     @GetMapping("/{orderItemId}")
     public OrderItemResponse getOrderItemById(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @PathVariable Long orderItemId) {
 
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-
-        if (currentUser == null) {
-            throw new ValidationException("User not found for email: " + email);
-        }
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
 
-        return orderItemService.getOrderItemById(orderItemId, currentUser.getEmail());
+        return orderItemService.getOrderItemById(orderItemId, userId, currentUser.isAdmin());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.quickcart.order_service.dto.request;
+
+import com.quickcart.order_service.model.Order;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Bound from query parameters; every filter is optional
+@Data
+public class OrderSearchRequest {
+    private Order.Status status;
+    private Order.PaymentStatus paymentStatus;
+    private Long userId;
+    private String trackingNumber;
+
+    // placedFrom is inclusive, placedTo exclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime placedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime placedTo;
+
+    // nextCursor from the previous page; absent for the first page
+    private String cursor;
+    private int size = 20;
+}
@@ -0,0 +1,12 @@
+package com.quickcart.order_service.dto.request;
+
+import com.quickcart.order_service.model.Order;
+import lombok.Data;
+
+// One entry of a bulk status change; trackingNumber only applies to SHIPPED
+@Data
+public class OrderStatusUpdate {
+    private Long orderId;
+    private Order.Status status;
+    private String trackingNumber;
+}
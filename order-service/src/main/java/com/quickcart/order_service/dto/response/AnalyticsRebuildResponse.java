@@ -0,0 +1,14 @@
+package com.quickcart.order_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRebuildResponse {
+    private long ordersCounted;
+    private int chunks;
+    private long elapsedMillis;
+}
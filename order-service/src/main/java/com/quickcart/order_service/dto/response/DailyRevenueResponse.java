@@ -0,0 +1,24 @@
+package com.quickcart.order_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Orders placed on one day; cancellations and refunds are counted against the day the order was placed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueResponse {
+    private LocalDate date;
+    private long placedOrders;
+    private BigDecimal placedAmount;
+    private long cancelledOrders;
+    private BigDecimal cancelledAmount;
+    private long refundedOrders;
+    private BigDecimal refundedAmount;
+    // placedAmount less cancelled and refunded amounts
+    private BigDecimal netRevenue;
+}
@@ -0,0 +1,16 @@
+package com.quickcart.order_service.dto.response;
+
+import com.quickcart.order_service.model.OrderIntake;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class OrderIntakeResponse {
+    private String intakeId;
+    private OrderIntake.Status status;
+    // Set once the order is placed
+    private Long orderId;
+    private String failureReason;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,16 @@
+package com.quickcart.order_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchResponse {
+    private List<OrderResponse> orders;
+    // null on the last page
+    private String nextCursor;
+}
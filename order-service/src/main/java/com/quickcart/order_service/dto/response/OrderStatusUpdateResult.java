@@ -0,0 +1,25 @@
+package com.quickcart.order_service.dto.response;
+
+import com.quickcart.order_service.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateResult {
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        // The transition is not allowed, or the entry itself is invalid
+        REJECTED,
+        // The order changed while the batch was being applied; safe to resend
+        CONFLICT
+    }
+
+    private Long orderId;
+    private Order.Status status;
+    private Outcome outcome;
+    private String message;
+}
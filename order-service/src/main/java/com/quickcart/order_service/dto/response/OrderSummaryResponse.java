@@ -0,0 +1,19 @@
+package com.quickcart.order_service.dto.response;
+
+import com.quickcart.order_service.model.Order;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One row of the customer's order history; full details come from GET /api/orders/{orderId}
+@Data
+public class OrderSummaryResponse {
+    private Long id;
+    private LocalDateTime placedAt;
+    private Order.Status status;
+    private BigDecimal grandTotal;
+    // Units across all lines, not the number of lines
+    private int itemCount;
+    private String firstItemImageUrl;
+}
@@ -0,0 +1,18 @@
+package com.quickcart.order_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesResponse {
+    private Long productId;
+    private String productName;
+    private long unitsSold;
+    // Item prices only, before shipping and GST
+    private BigDecimal revenue;
+}
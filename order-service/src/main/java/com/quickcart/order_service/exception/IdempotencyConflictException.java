@@ -0,0 +1,8 @@
+package com.quickcart.order_service.exception;
+
+// The same Idempotency-Key is still being processed by another request
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
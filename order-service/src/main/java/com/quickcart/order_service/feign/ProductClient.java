@@ -2,9 +2,12 @@ package com.quickcart.order_service.feign;
 
 import com.quickcart.common.config.FeignClientConfig;
 import com.quickcart.common.dto.ProductDto;
+import com.quickcart.common.dto.StockReservationRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @FeignClient(name = "product-service", configuration = FeignClientConfig.class)
@@ -13,8 +16,22 @@ public interface ProductClient {
     @GetMapping("/api/products/{id}")
     Optional<ProductDto> getProductById(@PathVariable("id") Long id);
 
-    @PutMapping("/api/products/{id}/increment-stock")
-    void incrementStock(@PathVariable("id") Long id, @RequestParam("quantity") int quantity);
+    @GetMapping("/api/products/batch")
+    List<ProductDto> getProductsByIds(@RequestParam("ids") Collection<Long> ids);
+
+    // Reservation calls are idempotent per reservationId, so the order saga can safely retry them
+    @PostMapping("/api/products/reservations")
+    void reserveStock(@RequestBody StockReservationRequest request);
+
+    @PutMapping("/api/products/reservations/{reservationId}/confirm")
+    void confirmReservation(@PathVariable("reservationId") String reservationId);
+
+    @PutMapping("/api/products/reservations/{reservationId}/release")
+    void releaseReservation(@PathVariable("reservationId") String reservationId);
+
+    // Gives back stock taken before reservations existed; applied once per reservationId
+    @PostMapping("/api/products/reservations/restocks")
+    void restock(@RequestBody StockReservationRequest request);
 
     @PutMapping("/api/products/{id}/decrement-stock")
     void decrementStock(@PathVariable Long id, @RequestParam int quantity);
@@ -0,0 +1,95 @@
+package com.quickcart.order_service.kafka;
+
+import com.quickcart.common.event.OrderIntakeEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@EnableKafka
+@Configuration
+@ConditionalOnProperty(name = "order.intake.enabled", havingValue = "true")
+public class OrderIntakeKafkaConfig {
+
+    private static final long CONFLICT_RETRY_INTERVAL_MS = 5000;
+
+    @Bean
+    public ProducerFactory<String, OrderIntakeEvent> orderIntakeProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // An accepted order must not be lost to a broker failover
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, OrderIntakeEvent> orderIntakeKafkaTemplate() {
+        return new KafkaTemplate<>(orderIntakeProducerFactory());
+    }
+
+    @Bean
+    public ConsumerFactory<String, OrderIntakeEvent> orderIntakeConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, OrderIntakeKafkaConsumer.GROUP_ID);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        // One placement can take seconds; keep polls small so the consumer is never timed out of the group
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10);
+
+        return new DefaultKafkaConsumerFactory<>(
+                config,
+                new StringDeserializer(),
+                new JsonDeserializer<>(OrderIntakeEvent.class, false)
+        );
+    }
+
+    // Concurrency bounds how many placements run at once, whatever the intake rate
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderIntakeEvent> orderIntakeListenerContainerFactory(
+            @Value("${order.intake.consumer-concurrency:4}") int concurrency,
+            @Value("${order.idempotency.lease-seconds:300}") long leaseSeconds) {
+        ConcurrentKafkaListenerContainerFactory<String, OrderIntakeEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderIntakeConsumerFactory());
+        factory.setConcurrency(concurrency);
+        // process() only throws while another consumer holds the intake's idempotency claim; keep
+        // redelivering until that placement finishes or its lease (order.idempotency.lease-seconds) runs
+        // out, plus a minute for the takeover
+        long attempts = (leaseSeconds + 60) * 1000 / CONFLICT_RETRY_INTERVAL_MS;
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(CONFLICT_RETRY_INTERVAL_MS, attempts)));
+        return factory;
+    }
+
+    @Bean
+    public NewTopic orderIntakeTopic(@Value("${order.intake.partitions:12}") int partitions) {
+        return TopicBuilder.name(OrderIntakeKafkaProducer.ORDER_INTAKE_TOPIC)
+                .partitions(partitions)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.quickcart.order_service.kafka;
+
+import com.quickcart.common.event.OrderIntakeEvent;
+import com.quickcart.order_service.service.OrderIntakeService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.intake.enabled", havingValue = "true")
+public class OrderIntakeKafkaConsumer {
+
+    public static final String GROUP_ID = "order-service-intake";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeKafkaConsumer.class);
+    private final OrderIntakeService orderIntakeService;
+
+    @KafkaListener(topics = OrderIntakeKafkaProducer.ORDER_INTAKE_TOPIC,
+            groupId = GROUP_ID,
+            containerFactory = "orderIntakeListenerContainerFactory")
+    public void consumeOrderIntake(OrderIntakeEvent event) {
+        logger.info("Consumed OrderIntakeEvent: {}", event.getIntakeId());
+        orderIntakeService.process(event);
+    }
+}
@@ -0,0 +1,31 @@
+package com.quickcart.order_service.kafka;
+
+import com.quickcart.common.event.OrderIntakeEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.intake.enabled", havingValue = "true")
+public class OrderIntakeKafkaProducer {
+
+    public static final String ORDER_INTAKE_TOPIC = "order-intake-topic";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeKafkaProducer.class);
+    private final KafkaTemplate<String, OrderIntakeEvent> orderIntakeKafkaTemplate;
+
+    // Keyed by user so one user's orders are placed one after another, in the order they were sent;
+    // the user only goes in the record key, the payload stays a pointer to the intake row
+    public CompletableFuture<SendResult<String, OrderIntakeEvent>> sendOrderIntakeEvent(Long userId,
+                                                                                        OrderIntakeEvent event) {
+        logger.debug("OrderIntakeEvent sent to Kafka topic '{}': {}", ORDER_INTAKE_TOPIC, event);
+        return orderIntakeKafkaTemplate.send(ORDER_INTAKE_TOPIC, String.valueOf(userId), event);
+    }
+}
@@ -0,0 +1,56 @@
+package com.quickcart.order_service.kafka;
+
+import com.quickcart.common.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OrderKafkaProducer {
+
+    public static final String ORDER_STATUS_CHANGED_TOPIC = "order-status-changed-topic";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderKafkaProducer.class);
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    // Sent after commit so consumers never see a transition that was rolled back
+    public void sendOrderStatusChangedEvent(OrderStatusChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    // Bulk transitions: one after-commit callback for the whole batch instead of one per order
+    public void sendOrderStatusChangedEvents(List<OrderStatusChangedEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(OrderKafkaProducer.this::send);
+                }
+            });
+        } else {
+            events.forEach(this::send);
+        }
+    }
+
+    private void send(OrderStatusChangedEvent event) {
+        // Keyed by order so every transition of one order lands on the same partition, in order
+        kafkaTemplate.send(ORDER_STATUS_CHANGED_TOPIC, String.valueOf(event.getOrderId()), event);
+        logger.debug("OrderStatusChangedEvent sent to Kafka topic '{}': {}", ORDER_STATUS_CHANGED_TOPIC, event);
+    }
+}
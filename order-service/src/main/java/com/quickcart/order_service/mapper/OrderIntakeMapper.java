@@ -0,0 +1,13 @@
+package com.quickcart.order_service.mapper;
+
+import com.quickcart.order_service.dto.response.OrderIntakeResponse;
+import com.quickcart.order_service.model.OrderIntake;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface OrderIntakeMapper {
+
+    @Mapping(target = "intakeId", source = "id")
+    OrderIntakeResponse toResponse(OrderIntake intake);
+}
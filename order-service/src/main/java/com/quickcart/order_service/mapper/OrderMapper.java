@@ -1,11 +1,17 @@
 package com.quickcart.order_service.mapper;
 
+import com.quickcart.common.event.OrderStatusChangedEvent;
 import com.quickcart.order_service.dto.response.OrderResponse;
+import com.quickcart.order_service.dto.response.OrderSummaryResponse;
 import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderItem;
+import com.quickcart.order_service.model.OrderSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 
 @Mapper(componentModel = "spring", uses = {OrderItemMapper.class})
 public interface OrderMapper {
@@ -17,14 +23,40 @@ public interface OrderMapper {
     @Mapping(target = "cancellationReason", source = "cancellationReason")
     OrderResponse toResponse(Order order);
 
+    @Mapping(target = "orderId", source = "id")
+    @Mapping(target = "grandTotal", expression = "java(calculateGrandTotal(order))")
+    @Mapping(target = "itemCount", expression = "java(countItems(order))")
+    @Mapping(target = "thumbnailUrl", expression = "java(firstItemImageUrl(order))")
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateSummary(Order order, @MappingTarget OrderSummary summary);
+
+    @Mapping(target = "id", source = "orderId")
+    @Mapping(target = "firstItemImageUrl", source = "thumbnailUrl")
+    OrderSummaryResponse toSummary(OrderSummary summary);
+
+    @Mapping(target = "orderId", source = "order.id")
+    @Mapping(target = "fromStatus", source = "fromStatus")
+    @Mapping(target = "toStatus", source = "order.status")
+    @Mapping(target = "changedAt", expression = "java(java.time.LocalDateTime.now())")
+    OrderStatusChangedEvent toStatusChangedEvent(Order order, Order.Status fromStatus);
+
+    // totalAmount is already items + shipping + GST (see OrderService.calculateTotals)
     default BigDecimal calculateGrandTotal(Order order) {
-        if (order == null) return BigDecimal.ZERO;
+        if (order == null || order.getTotalAmount() == null) return BigDecimal.ZERO;
 
-        BigDecimal total = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
-        BigDecimal shipping = order.getShippingFee() != null ? order.getShippingFee() : BigDecimal.ZERO;
-        BigDecimal cgst = order.getCgstAmount() != null ? order.getCgstAmount() : BigDecimal.ZERO;
-        BigDecimal sgst = order.getSgstAmount() != null ? order.getSgstAmount() : BigDecimal.ZERO;
+        return order.getTotalAmount();
+    }
+
+    default int countItems(Order order) {
+        return order.getItems().stream()
+                .mapToInt(item -> item.getQuantity() != null ? item.getQuantity() : 0)
+                .sum();
+    }
 
-        return total.add(shipping).add(cgst).add(sgst);
+    default String firstItemImageUrl(Order order) {
+        return order.getItems().stream()
+                .min(Comparator.comparing(OrderItem::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(OrderItem::getProductImageUrl)
+                .orElse(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package com.quickcart.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// One row per Idempotency-Key a user has sent to POST /api/orders, holding the response to replay
+@Entity
+@Data
+@Table(name = "order_idempotency_keys",
+        uniqueConstraints = {
+            @UniqueConstraint(name = "uk_order_idempotency_user_key", columnNames = {"user_id", "idempotency_key"})
+        },
+        indexes = {
+            @Index(name = "idx_order_idempotency_expires", columnList = "expires_at")
+        })
+public class IdempotencyRecord {
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // SHA-256 of the request body, so a key cannot be reused for a different order
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String responseBody;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // When the current IN_PROGRESS claim was taken; a claim older than the lease is taken over, so a
+    // request that died mid-placement does not block its key until expires_at. Null on rows from before
+    // the column, which count as stale.
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+}
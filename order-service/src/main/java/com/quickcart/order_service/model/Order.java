@@ -1,5 +1,6 @@
 package com.quickcart.order_service.model;
 
+import com.quickcart.common.persistence.IdSequenceAligner;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,7 +13,14 @@ import java.util.List;
 
 @Entity
 @Data
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    // Admin search pages on (placed_at, id); each filter gets its own prefix so a filtered page is a range scan
+    @Index(name = "idx_orders_placed_at_id", columnList = "placed_at, id"),
+    @Index(name = "idx_orders_status_placed_at", columnList = "status, placed_at, id"),
+    @Index(name = "idx_orders_payment_status_placed_at", columnList = "payment_status, placed_at, id"),
+    @Index(name = "idx_orders_user_placed_at", columnList = "user_id, placed_at, id"),
+    @Index(name = "idx_orders_tracking_number", columnList = "tracking_number")
+})
 public class Order {
     public enum Status {
         ORDER_PLACED,
@@ -77,8 +85,10 @@ public class Order {
         COD, UPI, NET_BANKING, CREDIT_CARD, DEBIT_CARD
     }
 
+    // Pooled rather than IDENTITY so Hibernate can batch an order and its items into a few inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = IdSequenceAligner.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -142,6 +152,10 @@ public class Order {
     @Column
     private LocalDateTime refundDeadline;
 
+    // product-service reservation holding this order's stock; null for orders placed before reservations
+    @Column(length = 64)
+    private String stockReservationId;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
@@ -0,0 +1,54 @@
+package com.quickcart.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Orders and revenue by the day they were placed. Each day is spread over a few slots (see
+// OrderAnalyticsProjector); readers sum the slots. Written with JDBC by OrderAnalyticsRepository.
+@Entity
+@Data
+@IdClass(OrderDailyStats.Key.class)
+@Table(name = "order_daily_stats")
+public class OrderDailyStats {
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+
+    @Column(nullable = false)
+    private long placedOrders;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal placedAmount;
+
+    // Orders placed that day and cancelled since
+    @Column(nullable = false)
+    private long cancelledOrders;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal cancelledAmount;
+
+    // Orders placed that day and refunded since (cancelled orders are counted above only)
+    @Column(nullable = false)
+    private long refundedOrders;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundedAmount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate statDate;
+        private Integer slot;
+    }
+}
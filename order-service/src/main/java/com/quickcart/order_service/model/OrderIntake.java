@@ -0,0 +1,55 @@
+package com.quickcart.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// An order request accepted by the async intake; clients poll it until placement is done
+@Entity
+@Data
+@Table(name = "order_intake", indexes = {
+    @Index(name = "idx_order_intake_user", columnList = "user_id")
+})
+public class OrderIntake {
+    public enum Status {
+        QUEUED, PLACED, FAILED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Identity and request as submitted; placement runs from these, never from the Kafka payload
+    @Column
+    private String email;
+
+    @Column(name = "shipping_address_id")
+    private Long shippingAddressId;
+
+    @Column(length = 20)
+    private String paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(length = 500)
+    private String failureReason;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,84 @@
+package com.quickcart.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compensation log for the stock reservation behind an order. A row is written before any remote
+// side effect, so whatever step a placement or cancellation dies in, recovery knows what to undo.
+@Entity
+@Data
+@Table(name = "order_saga_log", indexes = {
+    @Index(name = "idx_order_saga_status_updated", columnList = "status, updated_at"),
+    @Index(name = "idx_order_saga_order", columnList = "order_id")
+})
+public class OrderSaga {
+    public enum Type {
+        PLACE, CANCEL
+    }
+
+    // PLACE: STARTED -> ORDER_CREATED -> COMPLETED, or STARTED -> COMPENSATING -> COMPENSATED
+    // CANCEL: COMPENSATING -> COMPENSATED
+    public enum Status {
+        STARTED, ORDER_CREATED, COMPLETED, COMPENSATING, COMPENSATED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String reservationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // Only on the CANCEL saga of an order placed before stock reservations: what to restock, under
+    // a reservationId of the saga's own. Eager, since recovery releases sagas outside a transaction.
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "order_saga_lines", joinColumns = @JoinColumn(name = "saga_id"))
+    private List<Line> lines = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    // Maintained by the repository's transition queries, which bypass entity callbacks
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        @Column(nullable = false)
+        private Long productId;
+
+        @Column(nullable = false)
+        private int quantity;
+    }
+}
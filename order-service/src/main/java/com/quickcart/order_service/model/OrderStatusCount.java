@@ -0,0 +1,35 @@
+package com.quickcart.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Number of orders currently in each status, spread over slots like OrderDailyStats
+@Entity
+@Data
+@IdClass(OrderStatusCount.Key.class)
+@Table(name = "order_status_counts")
+public class OrderStatusCount {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Order.Status status;
+
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Order.Status status;
+        private Integer slot;
+    }
+}
@@ -0,0 +1,51 @@
+package com.quickcart.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Flat read model for order listings, one row per order. Written by OrderSummaryProjector in the
+// same transaction as the order itself, so listings never need orders joined to order_items.
+@Entity
+@Data
+@Table(name = "order_summary", indexes = {
+    @Index(name = "idx_order_summary_user_placed_at", columnList = "user_id, placed_at, order_id")
+})
+public class OrderSummary {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Order.Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Order.PaymentStatus paymentStatus;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal grandTotal;
+
+    @Column(nullable = false)
+    private int itemCount;
+
+    @Column
+    private String thumbnailUrl;
+
+    @Column(length = 100)
+    private String trackingNumber;
+
+    @Column(name = "placed_at", nullable = false)
+    private LocalDateTime placedAt;
+
+    @UpdateTimestamp
+    @Column
+    private LocalDateTime updatedAt;
+}
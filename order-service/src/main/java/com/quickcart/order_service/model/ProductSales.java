@@ -0,0 +1,27 @@
+package com.quickcart.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// Units and item revenue per product, net of cancelled and refunded orders
+@Entity
+@Data
+@Table(name = "product_sales", indexes = {
+    @Index(name = "idx_product_sales_units", columnList = "units_sold, product_id")
+})
+public class ProductSales {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column
+    private String productName;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,99 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.order_service.model.Order;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Rows for the analytics tables: either deltas to add on top, or totals from a rebuild. Counts for
+// the same row are merged, so each row is written once however many orders touched it. Amounts are
+// in minor units.
+public class AnalyticsCounts {
+
+    public record DayCounts(LocalDate date, int slot,
+                            long placedOrders, long placedAmount,
+                            long cancelledOrders, long cancelledAmount,
+                            long refundedOrders, long refundedAmount) {
+
+        DayCounts plus(DayCounts other) {
+            return new DayCounts(date, slot,
+                    placedOrders + other.placedOrders, placedAmount + other.placedAmount,
+                    cancelledOrders + other.cancelledOrders, cancelledAmount + other.cancelledAmount,
+                    refundedOrders + other.refundedOrders, refundedAmount + other.refundedAmount);
+        }
+
+        boolean isZero() {
+            return placedOrders == 0 && placedAmount == 0 && cancelledOrders == 0 && cancelledAmount == 0
+                    && refundedOrders == 0 && refundedAmount == 0;
+        }
+    }
+
+    public record StatusCounts(Order.Status status, int slot, long orders) {
+
+        StatusCounts plus(StatusCounts other) {
+            return new StatusCounts(status, slot, orders + other.orders);
+        }
+    }
+
+    public record ProductCounts(Long productId, String productName, long units, long revenue) {
+
+        ProductCounts plus(ProductCounts other) {
+            return new ProductCounts(productId, other.productName != null ? other.productName : productName,
+                    units + other.units, revenue + other.revenue);
+        }
+    }
+
+    private record DayKey(LocalDate date, int slot) {
+    }
+
+    private record StatusKey(Order.Status status, int slot) {
+    }
+
+    private final Map<DayKey, DayCounts> days = new HashMap<>();
+    private final Map<StatusKey, StatusCounts> statuses = new HashMap<>();
+    private final Map<Long, ProductCounts> products = new HashMap<>();
+
+    public void add(DayCounts counts) {
+        days.merge(new DayKey(counts.date(), counts.slot()), counts, DayCounts::plus);
+    }
+
+    public void add(StatusCounts counts) {
+        statuses.merge(new StatusKey(counts.status(), counts.slot()), counts, StatusCounts::plus);
+    }
+
+    public void add(ProductCounts counts) {
+        products.merge(counts.productId(), counts, ProductCounts::plus);
+    }
+
+    public void addAll(AnalyticsCounts other) {
+        other.days.values().forEach(this::add);
+        other.statuses.values().forEach(this::add);
+        other.products.values().forEach(this::add);
+    }
+
+    // The accessors return rows in key order, so concurrent writers lock them in the same order
+
+    public List<DayCounts> days() {
+        return days.values().stream()
+                .filter(counts -> !counts.isZero())
+                .sorted(Comparator.comparing(DayCounts::date).thenComparingInt(DayCounts::slot))
+                .toList();
+    }
+
+    public List<StatusCounts> statuses() {
+        return statuses.values().stream()
+                .filter(counts -> counts.orders() != 0)
+                .sorted(Comparator.comparing(StatusCounts::status).thenComparingInt(StatusCounts::slot))
+                .toList();
+    }
+
+    public List<ProductCounts> products() {
+        return products.values().stream()
+                .filter(counts -> counts.units() != 0 || counts.revenue() != 0)
+                .sorted(Comparator.comparing(ProductCounts::productId))
+                .toList();
+    }
+}
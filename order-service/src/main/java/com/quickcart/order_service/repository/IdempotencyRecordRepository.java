@@ -0,0 +1,48 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.order_service.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    // Conditional on the claim being stale, so of several requests taking over the same key only one wins
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.claimedAt = :now WHERE r.id = :id AND r.status = :status " +
+            "AND (r.claimedAt IS NULL OR r.claimedAt < :staleBefore)")
+    int takeOver(@Param("id") Long id,
+                 @Param("status") IdempotencyRecord.Status status,
+                 @Param("staleBefore") LocalDateTime staleBefore,
+                 @Param("now") LocalDateTime now);
+
+    // Completion and release only apply while the claim is still ours, i.e. nobody has taken it over
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.orderId = :orderId, r.responseBody = :responseBody " +
+            "WHERE r.id = :id AND r.claimedAt = :claimedAt")
+    int complete(@Param("id") Long id,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("status") IdempotencyRecord.Status status,
+                 @Param("orderId") Long orderId,
+                 @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.claimedAt = :claimedAt")
+    int release(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    // Bounded so each purge statement holds its locks only briefly
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM order_idempotency_keys WHERE expires_at < :now LIMIT :batchSize", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
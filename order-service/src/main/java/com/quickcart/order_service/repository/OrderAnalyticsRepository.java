@@ -0,0 +1,209 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.common.pricing.PricingEngine;
+import com.quickcart.order_service.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// order_daily_stats, order_status_counts and product_sales. Writes are additive upserts that run in
+// the caller's transaction; reads sum the slots of each row.
+@Repository
+@RequiredArgsConstructor
+public class OrderAnalyticsRepository {
+
+    // Where a rebuild reads order history from: the hot tables and the archive
+    public enum Source {
+        HOT("orders", "order_items"),
+        ARCHIVE("orders_archive", "order_items_archive");
+
+        private final String ordersTable;
+        private final String itemsTable;
+
+        Source(String ordersTable, String itemsTable) {
+            this.ordersTable = ordersTable;
+            this.itemsTable = itemsTable;
+        }
+    }
+
+    public record IdRange(long minId, long maxId) {
+    }
+
+    // Must match how OrderAnalyticsProjector classifies a transition
+    private static final String CANCELLED_CONDITION = "(o.status = 'CANCELLED' OR o.cancelled_at IS NOT NULL)";
+    private static final String REFUNDED_CONDITION = "(o.status = 'REFUNDED' AND o.cancelled_at IS NULL)";
+
+    private static final String UPSERT_DAY_SQL =
+            "INSERT INTO order_daily_stats (stat_date, slot, placed_orders, placed_amount, cancelled_orders, " +
+            "cancelled_amount, refunded_orders, refunded_amount) " +
+            "VALUES (:date, :slot, :placedOrders, :placedAmount, :cancelledOrders, :cancelledAmount, " +
+            ":refundedOrders, :refundedAmount) " +
+            "ON DUPLICATE KEY UPDATE placed_orders = placed_orders + VALUES(placed_orders), " +
+            "placed_amount = placed_amount + VALUES(placed_amount), " +
+            "cancelled_orders = cancelled_orders + VALUES(cancelled_orders), " +
+            "cancelled_amount = cancelled_amount + VALUES(cancelled_amount), " +
+            "refunded_orders = refunded_orders + VALUES(refunded_orders), " +
+            "refunded_amount = refunded_amount + VALUES(refunded_amount)";
+
+    private static final String UPSERT_STATUS_SQL =
+            "INSERT INTO order_status_counts (status, slot, order_count) VALUES (:status, :slot, :orders) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count)";
+
+    private static final String UPSERT_PRODUCT_SQL =
+            "INSERT INTO product_sales (product_id, product_name, units_sold, revenue) " +
+            "VALUES (:productId, :productName, :units, :revenue) " +
+            "ON DUPLICATE KEY UPDATE product_name = COALESCE(VALUES(product_name), product_name), " +
+            "units_sold = units_sold + VALUES(units_sold), revenue = revenue + VALUES(revenue)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // One batch per table
+    public void apply(AnalyticsCounts counts) {
+        List<AnalyticsCounts.DayCounts> days = counts.days();
+        if (!days.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_DAY_SQL, days.stream()
+                    .map(day -> new MapSqlParameterSource()
+                            .addValue("date", day.date())
+                            .addValue("slot", day.slot())
+                            .addValue("placedOrders", day.placedOrders())
+                            .addValue("placedAmount", PricingEngine.toAmount(day.placedAmount()))
+                            .addValue("cancelledOrders", day.cancelledOrders())
+                            .addValue("cancelledAmount", PricingEngine.toAmount(day.cancelledAmount()))
+                            .addValue("refundedOrders", day.refundedOrders())
+                            .addValue("refundedAmount", PricingEngine.toAmount(day.refundedAmount())))
+                    .toArray(SqlParameterSource[]::new));
+        }
+
+        List<AnalyticsCounts.StatusCounts> statuses = counts.statuses();
+        if (!statuses.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_STATUS_SQL, statuses.stream()
+                    .map(status -> new MapSqlParameterSource()
+                            .addValue("status", status.status().name())
+                            .addValue("slot", status.slot())
+                            .addValue("orders", status.orders()))
+                    .toArray(SqlParameterSource[]::new));
+        }
+
+        List<AnalyticsCounts.ProductCounts> products = counts.products();
+        if (!products.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SQL, products.stream()
+                    .map(product -> new MapSqlParameterSource()
+                            .addValue("productId", product.productId())
+                            .addValue("productName", product.productName())
+                            .addValue("units", product.units())
+                            .addValue("revenue", PricingEngine.toAmount(product.revenue())))
+                    .toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    // Swaps every table's contents for the given totals; runs in the caller's transaction
+    public void replaceAll(AnalyticsCounts totals) {
+        jdbcTemplate.getJdbcOperations().update("DELETE FROM order_daily_stats");
+        jdbcTemplate.getJdbcOperations().update("DELETE FROM order_status_counts");
+        jdbcTemplate.getJdbcOperations().update("DELETE FROM product_sales");
+        apply(totals);
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.getJdbcOperations().queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM order_status_counts)", Boolean.class));
+    }
+
+    // Slots summed, oldest day first
+    public List<AnalyticsCounts.DayCounts> findDays(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT stat_date, SUM(placed_orders) AS placed_orders, SUM(placed_amount) AS placed_amount, " +
+                        "SUM(cancelled_orders) AS cancelled_orders, SUM(cancelled_amount) AS cancelled_amount, " +
+                        "SUM(refunded_orders) AS refunded_orders, SUM(refunded_amount) AS refunded_amount " +
+                        "FROM order_daily_stats WHERE stat_date BETWEEN :from AND :to " +
+                        "GROUP BY stat_date ORDER BY stat_date",
+                new MapSqlParameterSource().addValue("from", from).addValue("to", to),
+                (rs, rowNum) -> dayCounts(rs.getObject("stat_date", LocalDate.class), rs));
+    }
+
+    public List<AnalyticsCounts.StatusCounts> findStatuses() {
+        return jdbcTemplate.query(
+                "SELECT status, SUM(order_count) AS order_count FROM order_status_counts GROUP BY status",
+                (rs, rowNum) -> new AnalyticsCounts.StatusCounts(
+                        Order.Status.valueOf(rs.getString("status")), 0, rs.getLong("order_count")));
+    }
+
+    // Best sellers first; a backward scan of idx_product_sales_units
+    public List<AnalyticsCounts.ProductCounts> findTopProducts(int limit) {
+        return jdbcTemplate.query(
+                "SELECT product_id, product_name, units_sold, revenue FROM product_sales " +
+                        "ORDER BY units_sold DESC, product_id DESC LIMIT :limit",
+                new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> new AnalyticsCounts.ProductCounts(
+                        rs.getLong("product_id"),
+                        rs.getString("product_name"),
+                        rs.getLong("units_sold"),
+                        PricingEngine.toMinor(rs.getBigDecimal("revenue"))));
+    }
+
+    public Optional<IdRange> findIdRange(Source source) {
+        // An empty table still yields one row, of NULLs
+        return Optional.ofNullable(jdbcTemplate.getJdbcOperations().queryForObject(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM " + source.ordersTable,
+                (rs, rowNum) -> rs.getObject("min_id") == null
+                        ? null
+                        : new IdRange(rs.getLong("min_id"), rs.getLong("max_id"))));
+    }
+
+    // Totals for the orders with ids in [fromId, toId], all in slot 0; three GROUP BY queries on the id range
+    public AnalyticsCounts countRange(Source source, long fromId, long toId) {
+        MapSqlParameterSource range = new MapSqlParameterSource()
+                .addValue("fromId", fromId)
+                .addValue("toId", toId);
+        AnalyticsCounts counts = new AnalyticsCounts();
+
+        jdbcTemplate.query(
+                "SELECT DATE(o.placed_at) AS stat_date, COUNT(*) AS placed_orders, SUM(o.total_amount) AS placed_amount, " +
+                        "SUM(CASE WHEN " + CANCELLED_CONDITION + " THEN 1 ELSE 0 END) AS cancelled_orders, " +
+                        "SUM(CASE WHEN " + CANCELLED_CONDITION + " THEN o.total_amount ELSE 0 END) AS cancelled_amount, " +
+                        "SUM(CASE WHEN " + REFUNDED_CONDITION + " THEN 1 ELSE 0 END) AS refunded_orders, " +
+                        "SUM(CASE WHEN " + REFUNDED_CONDITION + " THEN o.total_amount ELSE 0 END) AS refunded_amount " +
+                        "FROM " + source.ordersTable + " o WHERE o.id BETWEEN :fromId AND :toId " +
+                        "GROUP BY DATE(o.placed_at)",
+                range,
+                rs -> counts.add(dayCounts(rs.getObject("stat_date", LocalDate.class), rs)));
+
+        jdbcTemplate.query(
+                "SELECT o.status, COUNT(*) AS order_count FROM " + source.ordersTable + " o " +
+                        "WHERE o.id BETWEEN :fromId AND :toId GROUP BY o.status",
+                range,
+                rs -> counts.add(new AnalyticsCounts.StatusCounts(
+                        Order.Status.valueOf(rs.getString("status")), 0, rs.getLong("order_count"))));
+
+        jdbcTemplate.query(
+                "SELECT i.product_id, MAX(i.product_name) AS product_name, SUM(i.quantity) AS units, " +
+                        "SUM(i.price * i.quantity) AS revenue " +
+                        "FROM " + source.itemsTable + " i JOIN " + source.ordersTable + " o ON o.id = i.order_id " +
+                        "WHERE i.order_id BETWEEN :fromId AND :toId " +
+                        "AND NOT " + CANCELLED_CONDITION + " AND NOT " + REFUNDED_CONDITION + " " +
+                        "GROUP BY i.product_id",
+                range,
+                rs -> counts.add(new AnalyticsCounts.ProductCounts(
+                        rs.getLong("product_id"),
+                        rs.getString("product_name"),
+                        rs.getLong("units"),
+                        PricingEngine.toMinor(rs.getBigDecimal("revenue")))));
+
+        return counts;
+    }
+
+    private static AnalyticsCounts.DayCounts dayCounts(LocalDate date, ResultSet rs) throws SQLException {
+        return new AnalyticsCounts.DayCounts(date, 0,
+                rs.getLong("placed_orders"), PricingEngine.toMinor(rs.getBigDecimal("placed_amount")),
+                rs.getLong("cancelled_orders"), PricingEngine.toMinor(rs.getBigDecimal("cancelled_amount")),
+                rs.getLong("refunded_orders"), PricingEngine.toMinor(rs.getBigDecimal("refunded_amount")));
+    }
+}
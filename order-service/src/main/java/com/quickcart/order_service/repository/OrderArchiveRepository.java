@@ -0,0 +1,164 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// orders_archive and order_items_archive hold closed orders moved out of the hot tables by
+// OrderArchivalService. Rows are read back as detached Order/OrderItem objects, so OrderMapper
+// applies to them unchanged.
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository implements SmartInitializingSingleton {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Every column of orders / order_items, read from information_schema once the archive tables match them
+    private String orderColumns;
+    private String itemColumns;
+
+    // Runs after ddl-auto has updated the hot tables and before the archival job or any request can
+    // touch the archive. LIKE copies columns and indexes but not foreign keys, so archived rows reference
+    // nothing hot; it only runs once, so columns ddl-auto adds later are added to the archive here.
+    @Override
+    public void afterSingletonsInstantiated() {
+        JdbcOperations jdbc = jdbcTemplate.getJdbcOperations();
+        jdbc.execute("CREATE TABLE IF NOT EXISTS orders_archive LIKE orders");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS order_items_archive LIKE order_items");
+        orderColumns = alignColumns("orders", "orders_archive");
+        itemColumns = alignColumns("order_items", "order_items_archive");
+    }
+
+    // Adds the hot table's missing columns to the archive table and widens the ones whose type changed;
+    // returns the hot table's column list
+    private String alignColumns(String hotTable, String archiveTable) {
+        Map<String, String> hot = columnTypes(hotTable);
+        Map<String, String> archive = columnTypes(archiveTable);
+
+        hot.forEach((column, type) -> {
+            String archived = archive.get(column);
+            if (type.equals(archived)) {
+                return;
+            }
+            // Archived rows predate the column, so it is added nullable
+            String sql = archived == null
+                    ? "ALTER TABLE " + archiveTable + " ADD COLUMN `" + column + "` " + type + " NULL"
+                    : "ALTER TABLE " + archiveTable + " MODIFY COLUMN `" + column + "` " + type + " NULL";
+            try {
+                jdbcTemplate.getJdbcOperations().execute(sql);
+                log.info("Aligned {}.{} with {}: {}", archiveTable, column, hotTable, type);
+            } catch (DataAccessException e) {
+                // Another instance starting at the same time may have altered it first; anything else fails startup
+                if (!type.equals(columnTypes(archiveTable).get(column))) {
+                    throw e;
+                }
+            }
+        });
+
+        return String.join(", ", hot.keySet());
+    }
+
+    // Column name -> full type, e.g. decimal(10,2), in table order
+    private Map<String, String> columnTypes(String table) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT column_name, column_type FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = :table ORDER BY ordinal_position",
+                new MapSqlParameterSource("table", table),
+                rs -> {
+                    columns.put(rs.getString("column_name"), rs.getString("column_type"));
+                });
+        return columns;
+    }
+
+    public Optional<Order> findById(Long orderId) {
+        List<Order> orders = jdbcTemplate.query(
+                "SELECT " + orderColumns + " FROM orders_archive WHERE id = :id",
+                new MapSqlParameterSource("id", orderId), ORDER_ROW);
+        return withItems(orders).stream().findFirst();
+    }
+
+    public List<Order> findByUserId(Long userId) {
+        return withItems(jdbcTemplate.query(
+                "SELECT " + orderColumns + " FROM orders_archive WHERE user_id = :userId",
+                new MapSqlParameterSource("userId", userId), ORDER_ROW));
+    }
+
+    // Moves the given orders and their items; runs in the caller's transaction
+    public int archive(Collection<Long> orderIds) {
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", orderIds);
+        jdbcTemplate.update("INSERT INTO orders_archive (" + orderColumns + ") " +
+                "SELECT " + orderColumns + " FROM orders WHERE id IN (:ids)", ids);
+        jdbcTemplate.update("INSERT INTO order_items_archive (" + itemColumns + ") " +
+                "SELECT " + itemColumns + " FROM order_items WHERE order_id IN (:ids)", ids);
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", ids);
+        return jdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", ids);
+    }
+
+    // One items query for all the given orders
+    private List<Order> withItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        Map<Long, Order> byId = orders.stream().collect(Collectors.toMap(Order::getId, Function.identity()));
+        jdbcTemplate.query(
+                "SELECT " + itemColumns + " FROM order_items_archive WHERE order_id IN (:ids) ORDER BY id",
+                new MapSqlParameterSource("ids", byId.keySet()),
+                rs -> {
+                    OrderItem item = new OrderItem();
+                    item.setId(rs.getLong("id"));
+                    item.setProductId(rs.getLong("product_id"));
+                    item.setQuantity(rs.getInt("quantity"));
+                    item.setPrice(rs.getBigDecimal("price"));
+                    item.setProductName(rs.getString("product_name"));
+                    item.setProductImageUrl(rs.getString("product_image_url"));
+                    byId.get(rs.getLong("order_id")).addItem(item);
+                });
+        return orders;
+    }
+
+    private static final RowMapper<Order> ORDER_ROW = (rs, rowNum) -> {
+        Order order = new Order();
+        order.setId(rs.getLong("id"));
+        order.setUserId(rs.getLong("user_id"));
+        order.setShippingAddressId(rs.getLong("shipping_address_id"));
+        order.setStatus(Order.Status.valueOf(rs.getString("status")));
+        order.setTotalAmount(rs.getBigDecimal("total_amount"));
+        order.setPaymentStatus(Order.PaymentStatus.valueOf(rs.getString("payment_status")));
+        order.setPaymentMethod(Order.PaymentMethod.valueOf(rs.getString("payment_method")));
+        order.setPaymentId(rs.getString("payment_id"));
+        order.setPlacedAt(rs.getObject("placed_at", LocalDateTime.class));
+        order.setShippedAt(rs.getObject("shipped_at", LocalDateTime.class));
+        order.setDeliveredAt(rs.getObject("delivered_at", LocalDateTime.class));
+        order.setCancelledAt(rs.getObject("cancelled_at", LocalDateTime.class));
+        order.setCancellationReason(rs.getString("cancellation_reason"));
+        order.setTrackingNumber(rs.getString("tracking_number"));
+        order.setExpectedDeliveryDate(rs.getObject("expected_delivery_date", LocalDateTime.class));
+        order.setVersion(rs.getObject("version", Integer.class));
+        order.setShippingFee(rs.getBigDecimal("shipping_fee"));
+        order.setCgstAmount(rs.getBigDecimal("cgst_amount"));
+        order.setSgstAmount(rs.getBigDecimal("sgst_amount"));
+        order.setRefundDeadline(rs.getObject("refund_deadline", LocalDateTime.class));
+        order.setStockReservationId(rs.getString("stock_reservation_id"));
+        return order;
+    };
+}
@@ -0,0 +1,25 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.order_service.model.OrderIntake;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface OrderIntakeRepository extends JpaRepository<OrderIntake, String> {
+
+    // Only a QUEUED intake is finished, so when a redelivered event is processed twice the first outcome
+    // stands and a placed order can never be overwritten as FAILED
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderIntake i SET i.status = :status, i.orderId = :orderId, i.failureReason = :failureReason, " +
+            "i.updatedAt = :now WHERE i.id = :id AND i.status = com.quickcart.order_service.model.OrderIntake.Status.QUEUED")
+    int finish(@Param("id") String id,
+               @Param("status") OrderIntake.Status status,
+               @Param("orderId") Long orderId,
+               @Param("failureReason") String failureReason,
+               @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,41 @@
 package com.quickcart.order_service.repository;
 
 import com.quickcart.order_service.model.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
-}
\ No newline at end of file
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.userId = :userId")
+    List<Order> findAllWithItemsByUserId(@Param("userId") Long userId);
+
+    // Newest first, keyset on (placedAt, id). Ids only, so a page is read from the composite indexes alone.
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE (:status IS NULL OR o.status = :status) " +
+            "AND (:paymentStatus IS NULL OR o.paymentStatus = :paymentStatus) " +
+            "AND (:userId IS NULL OR o.userId = :userId) " +
+            "AND (:trackingNumber IS NULL OR o.trackingNumber = :trackingNumber) " +
+            "AND (:placedFrom IS NULL OR o.placedAt >= :placedFrom) " +
+            "AND (:placedTo IS NULL OR o.placedAt < :placedTo) " +
+            "AND (:afterPlacedAt IS NULL OR o.placedAt < :afterPlacedAt " +
+            "     OR (o.placedAt = :afterPlacedAt AND o.id < :afterId)) " +
+            "ORDER BY o.placedAt DESC, o.id DESC")
+    List<Long> searchIds(@Param("status") Order.Status status,
+                         @Param("paymentStatus") Order.PaymentStatus paymentStatus,
+                         @Param("userId") Long userId,
+                         @Param("trackingNumber") String trackingNumber,
+                         @Param("placedFrom") LocalDateTime placedFrom,
+                         @Param("placedTo") LocalDateTime placedTo,
+                         @Param("afterPlacedAt") LocalDateTime afterPlacedAt,
+                         @Param("afterId") Long afterId,
+                         Pageable limit);
+
+    // One query for a whole page of orders and their items
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,52 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.order_service.model.OrderSaga;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, Long> {
+
+    List<OrderSaga> findTop100ByStatusAndUpdatedAtBeforeOrderById(OrderSaga.Status status, LocalDateTime before);
+
+    // Transitions only apply from the expected state, so when the placing request and the recovery
+    // job race for the same saga exactly one of them wins
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSaga s SET s.status = :to, s.updatedAt = :now WHERE s.id = :id AND s.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") OrderSaga.Status from,
+                   @Param("to") OrderSaga.Status to,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSaga s SET s.status = :to, s.orderId = :orderId, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.status = :from")
+    int transitionWithOrder(@Param("id") Long id,
+                            @Param("orderId") Long orderId,
+                            @Param("from") OrderSaga.Status from,
+                            @Param("to") OrderSaga.Status to,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSaga s SET s.status = :to, s.updatedAt = :now " +
+            "WHERE s.orderId = :orderId AND s.type = :type AND s.status = :from")
+    int transitionByOrder(@Param("orderId") Long orderId,
+                          @Param("type") OrderSaga.Type type,
+                          @Param("from") OrderSaga.Status from,
+                          @Param("to") OrderSaga.Status to,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSaga s SET s.attempts = s.attempts + 1, s.lastError = :error, s.updatedAt = :now " +
+            "WHERE s.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+}
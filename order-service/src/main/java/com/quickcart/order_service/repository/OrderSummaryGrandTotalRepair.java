@@ -0,0 +1,57 @@
+package com.quickcart.order_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// order_summary rows projected before the pricing engine added shipping and GST to a totalAmount that
+// already included them. One UPDATE per order table puts grand_total back to the order's total, once:
+// the marker row in order_schema_migrations is inserted in the same transaction, and an instance
+// starting concurrently waits on it and then skips. Runs before the web server and listeners start.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryGrandTotalRepair implements SmartInitializingSingleton {
+
+    private static final String MIGRATION = "order_summary_grand_total";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS order_schema_migrations (" +
+                "name VARCHAR(100) NOT NULL PRIMARY KEY, applied_at DATETIME(6) NOT NULL)");
+
+        Integer repaired = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update("INSERT IGNORE INTO order_schema_migrations (name, applied_at) " +
+                    "VALUES (?, NOW(6))", MIGRATION) == 0) {
+                return null;
+            }
+
+            int rows = 0;
+            // Summaries of archived orders are kept, so they are repaired from the archive
+            for (String orders : new String[] {"orders", "orders_archive"}) {
+                if (tableExists(orders)) {
+                    rows += jdbcTemplate.update("UPDATE order_summary s JOIN " + orders + " o ON o.id = s.order_id " +
+                            "SET s.grand_total = o.total_amount WHERE s.grand_total <> o.total_amount");
+                }
+            }
+            return rows;
+        });
+
+        if (repaired != null) {
+            log.info("Repaired the grand total of {} order summaries", repaired);
+        }
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+}
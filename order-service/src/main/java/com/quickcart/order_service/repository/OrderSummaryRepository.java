@@ -0,0 +1,28 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.order_service.model.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    // Newest first, keyset on (placedAt, orderId); a range scan of idx_order_summary_user_placed_at
+    @Query("SELECT s FROM OrderSummary s WHERE s.userId = :userId " +
+            "AND (:afterPlacedAt IS NULL OR s.placedAt < :afterPlacedAt " +
+            "     OR (s.placedAt = :afterPlacedAt AND s.orderId < :afterId)) " +
+            "ORDER BY s.placedAt DESC, s.orderId DESC")
+    List<OrderSummary> findHistoryPage(@Param("userId") Long userId,
+                                       @Param("afterPlacedAt") LocalDateTime afterPlacedAt,
+                                       @Param("afterId") Long afterId,
+                                       Pageable limit);
+
+    // Orders written before the summary table existed
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId " +
+            "AND NOT EXISTS (SELECT 1 FROM OrderSummary s WHERE s.orderId = o.id) ORDER BY o.id")
+    List<Long> findUnprojectedOrderIds(@Param("afterId") Long afterId, Pageable limit);
+}
@@ -0,0 +1,217 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.common.event.OrderStatusChangedEvent;
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.order_service.dto.request.OrderStatusUpdate;
+import com.quickcart.order_service.dto.response.OrderStatusUpdateResult;
+import com.quickcart.order_service.dto.response.OrderStatusUpdateResult.Outcome;
+import com.quickcart.order_service.kafka.OrderKafkaProducer;
+import com.quickcart.order_service.mapper.OrderMapper;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Applies many status changes in one call for fulfilment. Each chunk is one transaction: the orders
+// are read with a single fetch join, transitions are checked in memory, and the writes go out as JDBC
+// batches guarded by the @Version column, so a concurrent change fails that one order, not the chunk.
+@Slf4j
+@Service
+public class BulkOrderStatusService {
+
+    private static final int MAX_UPDATES = 5000;
+
+    private static final String UPDATE_ORDER_SQL =
+            "UPDATE orders SET status = :status, shipped_at = :shippedAt, tracking_number = :trackingNumber, " +
+            "delivered_at = :deliveredAt, refund_deadline = :refundDeadline, cancelled_at = :cancelledAt, " +
+            "version = COALESCE(version, 0) + 1 " +
+            "WHERE id = :id AND version <=> :version";
+
+    private static final String UPDATE_SUMMARY_SQL =
+            "UPDATE order_summary SET status = :status, tracking_number = :trackingNumber, updated_at = :now " +
+            "WHERE order_id = :id";
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final OrderKafkaProducer orderKafkaProducer;
+    private final OrderAnalyticsProjector orderAnalyticsProjector;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public BulkOrderStatusService(OrderRepository orderRepository,
+                                  OrderMapper orderMapper,
+                                  OrderKafkaProducer orderKafkaProducer,
+                                  OrderAnalyticsProjector orderAnalyticsProjector,
+                                  NamedParameterJdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  EntityManager entityManager,
+                                  @Value("${order.bulk-status.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.orderKafkaProducer = orderKafkaProducer;
+        this.orderAnalyticsProjector = orderAnalyticsProjector;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    // Results come back in request order, one per entry
+    public List<OrderStatusUpdateResult> updateStatuses(List<OrderStatusUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new ValidationException("At least one status update is required");
+        }
+        if (updates.size() > MAX_UPDATES) {
+            throw new ValidationException("At most " + MAX_UPDATES + " status updates per request");
+        }
+
+        OrderStatusUpdateResult[] results = new OrderStatusUpdateResult[updates.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            OrderStatusUpdate update = updates.get(i);
+            if (update == null || update.getOrderId() == null || update.getStatus() == null) {
+                results[i] = result(update, Outcome.REJECTED, "orderId and status are required");
+            } else if (!seen.add(update.getOrderId())) {
+                results[i] = result(update, Outcome.REJECTED, "Order appears more than once in this request");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            transactionTemplate.executeWithoutResult(status -> applyChunk(updates, chunk, results));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void applyChunk(List<OrderStatusUpdate> updates, List<Integer> chunk, OrderStatusUpdateResult[] results) {
+        List<Long> ids = chunk.stream().map(i -> updates.get(i).getOrderId()).toList();
+        Map<Long, Order> orders = orderRepository.findAllWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        // The rows are written with JDBC below; detach them so Hibernate does not write them again at commit
+        entityManager.clear();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingUpdate> pending = new ArrayList<>();
+        for (int index : chunk) {
+            OrderStatusUpdate update = updates.get(index);
+            Order order = orders.get(update.getOrderId());
+            if (order == null) {
+                results[index] = result(update, Outcome.NOT_FOUND, "Order not found");
+                continue;
+            }
+
+            // Same rules as the single-order update
+            if (!order.getStatus().canTransitionTo(update.getStatus())) {
+                results[index] = result(update, Outcome.REJECTED,
+                        "Invalid status transition from " + order.getStatus());
+                continue;
+            }
+            if (update.getStatus() == Order.Status.DELIVERED && order.getPaymentStatus() != Order.PaymentStatus.PAID) {
+                results[index] = result(update, Outcome.REJECTED,
+                        "Cannot deliver order with payment status: " + order.getPaymentStatus());
+                continue;
+            }
+
+            Integer version = order.getVersion();
+            Order.Status previousStatus = order.getStatus();
+            switch (update.getStatus()) {
+                case SHIPPED -> {
+                    order.setShippedAt(now);
+                    order.setTrackingNumber(update.getTrackingNumber());
+                }
+                case DELIVERED -> {
+                    order.setDeliveredAt(now);
+                    order.setRefundDeadline(now.plusDays(14));
+                }
+                case CANCELLED -> order.setCancelledAt(now);
+                default -> {
+                }
+            }
+            order.setStatus(update.getStatus());
+            pending.add(new PendingUpdate(index, order, previousStatus, version));
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Lock rows in id order so two overlapping batches cannot deadlock each other
+        pending.sort(Comparator.comparing(p -> p.order().getId()));
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_ORDER_SQL, pending.stream()
+                .map(p -> new MapSqlParameterSource()
+                        .addValue("id", p.order().getId())
+                        .addValue("version", p.version())
+                        .addValue("status", p.order().getStatus().name())
+                        .addValue("shippedAt", p.order().getShippedAt())
+                        .addValue("trackingNumber", p.order().getTrackingNumber())
+                        .addValue("deliveredAt", p.order().getDeliveredAt())
+                        .addValue("refundDeadline", p.order().getRefundDeadline())
+                        .addValue("cancelledAt", p.order().getCancelledAt()))
+                .toArray(SqlParameterSource[]::new));
+
+        List<PendingUpdate> applied = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            PendingUpdate p = pending.get(i);
+            OrderStatusUpdate update = updates.get(p.index());
+            if (counts[i] == 0) {
+                results[p.index()] = result(update, Outcome.CONFLICT, "Order was modified concurrently");
+            } else {
+                results[p.index()] = result(update, Outcome.UPDATED, null);
+                applied.add(p);
+            }
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SUMMARY_SQL, applied.stream()
+                .map(p -> new MapSqlParameterSource()
+                        .addValue("id", p.order().getId())
+                        .addValue("status", p.order().getStatus().name())
+                        .addValue("trackingNumber", p.order().getTrackingNumber())
+                        .addValue("now", now))
+                .toArray(SqlParameterSource[]::new));
+
+        orderAnalyticsProjector.record(applied.stream()
+                .map(p -> new OrderAnalyticsProjector.Transition(p.order(), p.previousStatus()))
+                .toList());
+
+        List<OrderStatusChangedEvent> events = applied.stream()
+                .map(p -> orderMapper.toStatusChangedEvent(p.order(), p.previousStatus()))
+                .toList();
+        orderKafkaProducer.sendOrderStatusChangedEvents(events);
+
+        log.info("Bulk status update applied {} of {} orders", applied.size(), chunk.size());
+    }
+
+    private static OrderStatusUpdateResult result(OrderStatusUpdate update, Outcome outcome, String message) {
+        return update == null
+                ? new OrderStatusUpdateResult(null, null, outcome, message)
+                : new OrderStatusUpdateResult(update.getOrderId(), update.getStatus(), outcome, message);
+    }
+
+    private record PendingUpdate(int index, Order order, Order.Status previousStatus, Integer version) {
+    }
+}
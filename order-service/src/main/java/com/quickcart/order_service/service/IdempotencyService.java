@@ -0,0 +1,202 @@
+package com.quickcart.order_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.order_service.dto.request.OrderRequest;
+import com.quickcart.order_service.dto.response.OrderResponse;
+import com.quickcart.order_service.exception.IdempotencyConflictException;
+import com.quickcart.order_service.model.IdempotencyRecord;
+import com.quickcart.order_service.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+// Makes POST /api/orders safe to retry: the first request with a key places the order, later ones
+// with the same key and body get the stored response back without running placement again.
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final int purgeBatchSize;
+
+    // Hot front for completed keys, so most retries never reach MySQL
+    private final Cache<RecordKey, StoredResponse> completed;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${order.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${order.idempotency.lease-seconds:300}") long leaseSeconds,
+                              @Value("${order.idempotency.cache-max-size:10000}") long cacheMaxSize,
+                              @Value("${order.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.purgeBatchSize = purgeBatchSize;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public OrderResponse placeOnce(Long userId, String idempotencyKey, OrderRequest request,
+                                   Supplier<OrderResponse> placement) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        RecordKey key = new RecordKey(userId, idempotencyKey);
+        String requestHash = hash(request);
+
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            return cached.response();
+        }
+
+        IdempotencyRecord claimed = claim(key, requestHash);
+        if (claimed.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+            return replay(key, claimed, requestHash);
+        }
+
+        OrderResponse response;
+        try {
+            response = placement.get();
+        } catch (RuntimeException e) {
+            // No order exists (a failed placement compensates itself), so the key may be retried
+            idempotencyRecordRepository.release(claimed.getId(), claimed.getClaimedAt());
+            throw e;
+        }
+
+        if (idempotencyRecordRepository.complete(claimed.getId(), claimed.getClaimedAt(),
+                IdempotencyRecord.Status.COMPLETED, response.getId(), toJson(response)) == 0) {
+            // Placement outlived the lease and a retry took the key over; that retry's outcome is the one kept
+            log.warn("{} {} was taken over while order {} was being placed", HEADER, idempotencyKey, response.getId());
+            return response;
+        }
+        completed.put(key, new StoredResponse(requestHash, response));
+        return response;
+    }
+
+    @Scheduled(cron = "${order.idempotency.purge-cron:0 20 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyRecordRepository.deleteExpired(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+    }
+
+    // Returns our own IN_PROGRESS row (new, or taken over from a claim older than the lease), or the
+    // existing COMPLETED row for this key. The lease must outlast a placement, saga timeout included.
+    private IdempotencyRecord claim(RecordKey key, String requestHash) {
+        // Stored in DATETIME(6), so compared back exactly by complete() and release()
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        IdempotencyRecord existing = idempotencyRecordRepository
+                .findByUserIdAndIdempotencyKey(key.userId(), key.idempotencyKey())
+                .orElse(null);
+        if (existing != null && existing.getExpiresAt().isBefore(now)) {
+            // Expired but not purged yet: the key is free again
+            idempotencyRecordRepository.delete(existing);
+            existing = null;
+        }
+
+        if (existing == null) {
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setUserId(key.userId());
+            record.setIdempotencyKey(key.idempotencyKey());
+            record.setRequestHash(requestHash);
+            record.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+            record.setClaimedAt(now);
+            record.setExpiresAt(now.plus(ttl));
+            try {
+                return idempotencyRecordRepository.saveAndFlush(record);
+            } catch (DataIntegrityViolationException e) {
+                // Another request claimed the key between our lookup and insert
+                existing = idempotencyRecordRepository
+                        .findByUserIdAndIdempotencyKey(key.userId(), key.idempotencyKey())
+                        .orElseThrow(() -> new IdempotencyConflictException(
+                                "A request with this " + HEADER + " is still being processed"));
+            }
+        }
+
+        checkSameRequest(existing.getRequestHash(), requestHash);
+        if (existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS) {
+            // The request holding the claim died or hung past its lease: carry on in its place
+            if (idempotencyRecordRepository.takeOver(existing.getId(), IdempotencyRecord.Status.IN_PROGRESS,
+                    now.minus(lease), now) == 1) {
+                log.warn("Took over stale claim on {} {}", HEADER, key.idempotencyKey());
+                existing.setClaimedAt(now);
+                return existing;
+            }
+            throw new IdempotencyConflictException("A request with this " + HEADER + " is still being processed");
+        }
+        return existing;
+    }
+
+    private OrderResponse replay(RecordKey key, IdempotencyRecord record, String requestHash) {
+        try {
+            OrderResponse response = objectMapper.readValue(record.getResponseBody(), OrderResponse.class);
+            completed.put(key, new StoredResponse(requestHash, response));
+            return response;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for " + HEADER + " could not be read", e);
+        }
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ValidationException(HEADER + " was already used for a different request");
+        }
+    }
+
+    private String hash(OrderRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not hash order request", e);
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store order response", e);
+        }
+    }
+
+    private record RecordKey(Long userId, String idempotencyKey) {
+    }
+
+    private record StoredResponse(String requestHash, OrderResponse response) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.common.pricing.PricingEngine;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderItem;
+import com.quickcart.order_service.repository.AnalyticsCounts;
+import com.quickcart.order_service.repository.OrderAnalyticsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// Keeps the analytics tables in step with orders. Every status change calls record() inside its own
+// transaction, so the aggregates commit or roll back with the order.
+@Service
+@RequiredArgsConstructor
+public class OrderAnalyticsProjector {
+
+    // Every placement touches today's revenue row and the ORDER_PLACED count. Those rows are split
+    // across this many slots by order id, so concurrent placements rarely wait on the same row lock.
+    public static final int SLOTS = 16;
+
+    // The order as it is now, and the status it left (null when it has just been placed)
+    public record Transition(Order order, Order.Status fromStatus) {
+    }
+
+    private final OrderAnalyticsRepository orderAnalyticsRepository;
+    private final PricingEngine pricingEngine;
+
+    public void record(Order order, Order.Status fromStatus) {
+        record(List.of(new Transition(order, fromStatus)));
+    }
+
+    public void record(Collection<Transition> transitions) {
+        AnalyticsCounts deltas = new AnalyticsCounts();
+        transitions.forEach(transition -> addDeltas(deltas, transition.order(), transition.fromStatus()));
+        orderAnalyticsRepository.apply(deltas);
+    }
+
+    // Must match OrderAnalyticsRepository's CANCELLED_CONDITION / REFUNDED_CONDITION, which a rebuild uses
+    private void addDeltas(AnalyticsCounts deltas, Order order, Order.Status fromStatus) {
+        int slot = Math.floorMod(order.getId(), SLOTS);
+        LocalDate placedOn = order.getPlacedAt().toLocalDate();
+        long amount = PricingEngine.toMinor(order.getTotalAmount());
+
+        deltas.add(new AnalyticsCounts.StatusCounts(order.getStatus(), slot, 1));
+        if (fromStatus == null) {
+            deltas.add(new AnalyticsCounts.DayCounts(placedOn, slot, 1, amount, 0, 0, 0, 0));
+            addItems(deltas, order, 1);
+            return;
+        }
+
+        deltas.add(new AnalyticsCounts.StatusCounts(fromStatus, slot, -1));
+        if (order.getStatus() == Order.Status.CANCELLED) {
+            deltas.add(new AnalyticsCounts.DayCounts(placedOn, slot, 0, 0, 1, amount, 0, 0));
+            addItems(deltas, order, -1);
+        } else if (order.getStatus() == Order.Status.REFUNDED && order.getCancelledAt() == null) {
+            // A cancelled order that is refunded afterwards was already taken off at cancellation
+            deltas.add(new AnalyticsCounts.DayCounts(placedOn, slot, 0, 0, 0, 0, 1, amount));
+            addItems(deltas, order, -1);
+        }
+    }
+
+    private void addItems(AnalyticsCounts deltas, Order order, int sign) {
+        for (OrderItem item : order.getItems()) {
+            deltas.add(new AnalyticsCounts.ProductCounts(item.getProductId(), item.getProductName(),
+                    sign * (long) item.getQuantity(), sign * pricingEngine.lineTotal(item.getPrice(), item.getQuantity())));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.pricing.PricingEngine;
+import com.quickcart.order_service.dto.response.AnalyticsRebuildResponse;
+import com.quickcart.order_service.dto.response.DailyRevenueResponse;
+import com.quickcart.order_service.dto.response.ProductSalesResponse;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.repository.AnalyticsCounts;
+import com.quickcart.order_service.repository.OrderAnalyticsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admin analytics, answered from the aggregate tables OrderAnalyticsProjector maintains, so the cost
+// depends on the size of the answer and never on the number of orders.
+@Slf4j
+@Service
+public class OrderAnalyticsService {
+
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_PRODUCTS = 100;
+
+    private final OrderAnalyticsRepository orderAnalyticsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkSize;
+    private final int rebuildThreads;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public OrderAnalyticsService(OrderAnalyticsRepository orderAnalyticsRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${order.analytics.rebuild-chunk-size:10000}") int rebuildChunkSize,
+                                 @Value("${order.analytics.rebuild-threads:4}") int rebuildThreads) {
+        this.orderAnalyticsRepository = orderAnalyticsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.rebuildThreads = rebuildThreads;
+    }
+
+    public List<DailyRevenueResponse> getDailyRevenue(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new ValidationException("At most " + MAX_DAYS + " days per request");
+        }
+
+        return orderAnalyticsRepository.findDays(from, to).stream()
+                .map(day -> new DailyRevenueResponse(
+                        day.date(),
+                        day.placedOrders(),
+                        PricingEngine.toAmount(day.placedAmount()),
+                        day.cancelledOrders(),
+                        PricingEngine.toAmount(day.cancelledAmount()),
+                        day.refundedOrders(),
+                        PricingEngine.toAmount(day.refundedAmount()),
+                        PricingEngine.toAmount(day.placedAmount() - day.cancelledAmount() - day.refundedAmount())))
+                .toList();
+    }
+
+    // Every status is listed, with 0 for those no order is in
+    public Map<Order.Status, Long> getStatusCounts() {
+        Map<Order.Status, Long> counts = new EnumMap<>(Order.Status.class);
+        for (Order.Status status : Order.Status.values()) {
+            counts.put(status, 0L);
+        }
+        orderAnalyticsRepository.findStatuses().forEach(status -> counts.put(status.status(), status.orders()));
+        return counts;
+    }
+
+    public List<ProductSalesResponse> getTopProducts(int limit) {
+        if (limit < 1 || limit > MAX_PRODUCTS) {
+            throw new ValidationException("limit must be between 1 and " + MAX_PRODUCTS);
+        }
+
+        return orderAnalyticsRepository.findTopProducts(limit).stream()
+                .map(product -> new ProductSalesResponse(product.productId(), product.productName(),
+                        product.units(), PricingEngine.toAmount(product.revenue())))
+                .toList();
+    }
+
+    // First start with the aggregate tables: fill them from the existing orders
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (orderAnalyticsRepository.isEmpty()) {
+                rebuild();
+            }
+        } catch (DataAccessException | ValidationException e) {
+            // Another instance is rebuilding, or the database is unavailable; POST .../rebuild retries
+            log.warn("Order analytics were not initialised", e);
+        }
+    }
+
+    // Recounts everything from orders and the archive: id ranges are counted in parallel, merged in
+    // memory, and swapped in with one transaction. Status changes that commit while the ranges are being
+    // read can be missed or counted twice, so run it when order traffic is low.
+    public AnalyticsRebuildResponse rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ValidationException("An analytics rebuild is already running");
+        }
+
+        long started = System.currentTimeMillis();
+        try (ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads)) {
+            List<CompletableFuture<AnalyticsCounts>> chunks = new ArrayList<>();
+            for (OrderAnalyticsRepository.Source source : OrderAnalyticsRepository.Source.values()) {
+                orderAnalyticsRepository.findIdRange(source).ifPresent(range -> {
+                    for (long fromId = range.minId(); fromId <= range.maxId(); fromId += rebuildChunkSize) {
+                        long from = fromId;
+                        long to = Math.min(fromId + rebuildChunkSize - 1, range.maxId());
+                        chunks.add(CompletableFuture.supplyAsync(
+                                () -> orderAnalyticsRepository.countRange(source, from, to), executor));
+                    }
+                });
+            }
+
+            AnalyticsCounts totals = new AnalyticsCounts();
+            chunks.forEach(chunk -> totals.addAll(join(chunk)));
+            transactionTemplate.executeWithoutResult(status -> orderAnalyticsRepository.replaceAll(totals));
+
+            long orders = totals.days().stream().mapToLong(AnalyticsCounts.DayCounts::placedOrders).sum();
+            long elapsed = System.currentTimeMillis() - started;
+            log.info("Rebuilt order analytics from {} orders in {} chunks ({} ms)", orders, chunks.size(), elapsed);
+            return new AnalyticsRebuildResponse(orders, chunks.size(), elapsed);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Surfaces the query's own exception instead of the CompletionException wrapper
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
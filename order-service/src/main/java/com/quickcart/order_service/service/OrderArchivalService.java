@@ -0,0 +1,113 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.order_service.repository.OrderArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves closed orders older than order.archive.archive-after-days out of orders/order_items, so the
+// tables checkout works against stay small. Works in keyset chunks, each its own short transaction.
+// Reads fall back to the archive (see OrderService); order_summary rows are kept, so history still lists them.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchivalService {
+
+    // Nothing can change these any more: the return window is over, the refund is done, or the
+    // cancelled order was never paid (a paid one can still move to REFUND_INITIATED)
+    private static final String CLOSED_ORDER_CONDITION =
+            "o.placed_at < :cutoff AND (" +
+            "(o.status = 'DELIVERED' AND o.refund_deadline < :now) " +
+            "OR o.status = 'REFUNDED' " +
+            "OR (o.status = 'CANCELLED' AND o.payment_status <> 'PAID'))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final int archiveAfterDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    public OrderArchivalService(NamedParameterJdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                OrderArchiveRepository orderArchiveRepository,
+                                @Value("${order.archive.archive-after-days:180}") int archiveAfterDays,
+                                @Value("${order.archive.chunk-size:500}") int chunkSize,
+                                @Value("${order.archive.pause-ms:200}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.archiveAfterDays = archiveAfterDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 4 * * *}")
+    public void archiveClosedOrders() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(archiveAfterDays);
+        long lastId = 0;
+        long totalOrders = 0;
+
+        while (true) {
+            List<Long> candidates = jdbcTemplate.queryForList(
+                    "SELECT o.id FROM orders o WHERE o.id > :lastId AND " + CLOSED_ORDER_CONDITION +
+                            " ORDER BY o.id LIMIT :chunkSize",
+                    new MapSqlParameterSource()
+                            .addValue("lastId", lastId)
+                            .addValue("cutoff", cutoff)
+                            .addValue("now", now)
+                            .addValue("chunkSize", chunkSize),
+                    Long.class);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            lastId = candidates.get(candidates.size() - 1);
+
+            Integer archived = transactionTemplate.execute(status -> archiveChunk(candidates, cutoff, now));
+            if (archived != null) {
+                totalOrders += archived;
+            }
+
+            if (candidates.size() < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        log.info("Archived {} orders closed before {}", totalOrders, cutoff);
+    }
+
+    private int archiveChunk(List<Long> candidates, LocalDateTime cutoff, LocalDateTime now) {
+        // Re-check under a row lock: an order that changed since the scan stays in the hot table
+        List<Long> closed = jdbcTemplate.queryForList(
+                "SELECT o.id FROM orders o WHERE o.id IN (:ids) AND " + CLOSED_ORDER_CONDITION + " FOR UPDATE",
+                new MapSqlParameterSource()
+                        .addValue("ids", candidates)
+                        .addValue("cutoff", cutoff)
+                        .addValue("now", now),
+                Long.class);
+        return closed.isEmpty() ? 0 : orderArchiveRepository.archive(closed);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(Duration.ofMillis(pauseMillis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.common.event.OrderIntakeEvent;
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.security.AuthenticatedUser;
+import com.quickcart.common.security.ServiceAuthentication;
+import com.quickcart.order_service.dto.request.OrderRequest;
+import com.quickcart.order_service.dto.response.OrderIntakeResponse;
+import com.quickcart.order_service.dto.response.OrderResponse;
+import com.quickcart.order_service.exception.IdempotencyConflictException;
+import com.quickcart.order_service.kafka.OrderIntakeKafkaProducer;
+import com.quickcart.order_service.mapper.OrderIntakeMapper;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderIntake;
+import com.quickcart.order_service.repository.OrderIntakeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Async order intake for peak traffic: requests are queued on Kafka and answered straight away,
+// and a bounded consumer pool runs the regular placement pipeline behind the queue
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.intake.enabled", havingValue = "true")
+public class OrderIntakeService {
+
+    // Placement goes through the idempotency table under this key, so a redelivered event cannot place twice
+    private static final String IDEMPOTENCY_KEY_PREFIX = "intake-";
+    private static final int MAX_REASON_LENGTH = 500;
+    // Placing an order needs nothing more, whatever roles the submitter had
+    private static final List<String> INTAKE_ROLES = List.of("ROLE_USER");
+
+    private final OrderIntakeRepository orderIntakeRepository;
+    private final OrderIntakeMapper orderIntakeMapper;
+    private final OrderIntakeKafkaProducer orderIntakeKafkaProducer;
+    private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final ServiceAuthentication serviceAuthentication;
+
+    // Only checks what needs no remote call; address, cart and stock are checked at placement
+    public OrderIntakeResponse submit(AuthenticatedUser user, Long userId, OrderRequest request) {
+        if (Arrays.stream(Order.PaymentMethod.values()).noneMatch(method -> method.name().equals(request.getPaymentMethod()))) {
+            throw new ValidationException("Invalid payment method: " + request.getPaymentMethod());
+        }
+
+        OrderIntake intake = new OrderIntake();
+        intake.setId(UUID.randomUUID().toString());
+        intake.setUserId(userId);
+        intake.setEmail(user.getEmail());
+        intake.setShippingAddressId(request.getShippingAddressId());
+        intake.setPaymentMethod(request.getPaymentMethod());
+        intake.setStatus(OrderIntake.Status.QUEUED);
+        OrderIntake saved = orderIntakeRepository.save(intake);
+
+        OrderIntakeEvent event = new OrderIntakeEvent(saved.getId());
+        orderIntakeKafkaProducer.sendOrderIntakeEvent(saved.getUserId(), event).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("Could not queue order intake {}", saved.getId(), ex);
+                markFailed(saved.getId(), "Order could not be queued, please try again");
+            }
+        });
+
+        return orderIntakeMapper.toResponse(saved);
+    }
+
+    public OrderIntakeResponse getIntake(String intakeId, Long userId) {
+        return orderIntakeRepository.findById(intakeId)
+                .filter(intake -> intake.getUserId().equals(userId))
+                .map(orderIntakeMapper::toResponse)
+                .orElseThrow(() -> new ValidationException("Order intake not found"));
+    }
+
+    // Runs on a Kafka consumer thread, as the user who submitted the order (with the USER role only)
+    public void process(OrderIntakeEvent event) {
+        OrderIntake intake = orderIntakeRepository.findById(event.getIntakeId()).orElse(null);
+        if (intake == null || intake.getStatus() != OrderIntake.Status.QUEUED) {
+            return;
+        }
+        if (intake.getEmail() == null) {
+            // Queued before the request was stored on the row
+            markFailed(intake.getId(), "Order could not be placed, please try again");
+            return;
+        }
+
+        OrderRequest request = new OrderRequest();
+        request.setShippingAddressId(intake.getShippingAddressId());
+        request.setPaymentMethod(intake.getPaymentMethod());
+        AuthenticatedUser user = new AuthenticatedUser(intake.getUserId(), intake.getEmail(), INTAKE_ROLES);
+
+        OrderResponse order;
+        try {
+            order = serviceAuthentication.callAsUser(user, () -> idempotencyService.placeOnce(
+                    intake.getUserId(), IDEMPOTENCY_KEY_PREFIX + intake.getId(), request,
+                    () -> orderService.placeOrder(request)));
+        } catch (IdempotencyConflictException e) {
+            // Another consumer is still placing this intake (a redelivery after a rebalance); the
+            // container retries, and by then the placement has finished or its claim has gone stale
+            throw e;
+        } catch (RuntimeException e) {
+            log.info("Order intake {} failed: {}", intake.getId(), e.getMessage());
+            markFailed(intake.getId(), truncate(e.getMessage()));
+            return;
+        }
+        orderIntakeRepository.finish(intake.getId(), OrderIntake.Status.PLACED, order.getId(), null, LocalDateTime.now());
+    }
+
+    private void markFailed(String intakeId, String reason) {
+        orderIntakeRepository.finish(intakeId, OrderIntake.Status.FAILED, null, reason, LocalDateTime.now());
+    }
+
+    private static String truncate(String message) {
+        String reason = String.valueOf(message);
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+}
@@ -0,0 +1,171 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.common.dto.StockAdjustment;
+import com.quickcart.common.dto.StockReservationRequest;
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.security.ServiceAuthentication;
+import com.quickcart.order_service.feign.ProductClient;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderSaga;
+import com.quickcart.order_service.repository.OrderSagaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Drives the stock reservation behind order placement and cancellation. Every remote step is
+// idempotent on the product side, so anything that fails here is simply retried by recover(). The
+// reservation endpoints only accept service tokens, so every call is made as this service.
+@Slf4j
+@Service
+public class OrderSagaService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OrderSagaRepository orderSagaRepository;
+    private final ProductClient productClient;
+    private final ServiceAuthentication serviceAuthentication;
+    private final Duration staleAfter;
+
+    public OrderSagaService(OrderSagaRepository orderSagaRepository,
+                            ProductClient productClient,
+                            ServiceAuthentication serviceAuthentication,
+                            @Value("${order.saga.stale-after-seconds:120}") long staleAfterSeconds) {
+        this.orderSagaRepository = orderSagaRepository;
+        this.productClient = productClient;
+        this.serviceAuthentication = serviceAuthentication;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+    }
+
+    // Logged before stock is touched, so a crash at any later point leaves a row to recover from
+    public OrderSaga startPlacement(Long userId) {
+        OrderSaga saga = new OrderSaga();
+        saga.setReservationId(UUID.randomUUID().toString());
+        saga.setType(OrderSaga.Type.PLACE);
+        saga.setStatus(OrderSaga.Status.STARTED);
+        saga.setUserId(userId);
+        saga.setUpdatedAt(LocalDateTime.now());
+        return orderSagaRepository.save(saga);
+    }
+
+    // Releases whatever the reserve did if it throws: a timed-out reserve may still have landed
+    public void reserve(OrderSaga saga, List<StockAdjustment> lines) {
+        try {
+            serviceAuthentication.runAsService(() ->
+                    productClient.reserveStock(new StockReservationRequest(saga.getReservationId(), lines)));
+        } catch (RuntimeException e) {
+            compensate(saga, e);
+            throw e;
+        }
+    }
+
+    // Runs inside the order's own transaction, so the order row and this transition commit together.
+    // Fails if recovery has already given the stock back, which rolls the order insert back with it.
+    public void markOrderCreated(OrderSaga saga, Long orderId) {
+        int updated = orderSagaRepository.transitionWithOrder(saga.getId(), orderId,
+                OrderSaga.Status.STARTED, OrderSaga.Status.ORDER_CREATED, LocalDateTime.now());
+        if (updated == 0) {
+            throw new ValidationException("Order placement timed out, please try again");
+        }
+    }
+
+    public void confirm(OrderSaga saga) {
+        try {
+            serviceAuthentication.runAsService(() -> productClient.confirmReservation(saga.getReservationId()));
+            orderSagaRepository.transition(saga.getId(),
+                    OrderSaga.Status.ORDER_CREATED, OrderSaga.Status.COMPLETED, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Could not confirm stock reservation {}, will retry", saga.getReservationId(), e);
+            recordFailure(saga, e);
+        }
+    }
+
+    // The placement failed after its saga started
+    public void compensate(OrderSaga saga, Exception cause) {
+        log.warn("Order placement failed, releasing stock reservation {}: {}", saga.getReservationId(), cause.getMessage());
+
+        // Recovery may have taken over already, in which case it does the release
+        if (orderSagaRepository.transition(saga.getId(),
+                OrderSaga.Status.STARTED, OrderSaga.Status.COMPENSATING, LocalDateTime.now()) == 1) {
+            release(saga);
+        }
+    }
+
+    // Logged in the cancel transaction; release() then runs once that has committed
+    public OrderSaga startCancellation(Order order) {
+        // An unconfirmed placement must not keep retrying its confirm against a released reservation
+        orderSagaRepository.transitionByOrder(order.getId(), OrderSaga.Type.PLACE,
+                OrderSaga.Status.ORDER_CREATED, OrderSaga.Status.COMPLETED, LocalDateTime.now());
+
+        OrderSaga saga = new OrderSaga();
+        if (order.getStockReservationId() != null) {
+            saga.setReservationId(order.getStockReservationId());
+        } else {
+            // Placed before stock reservations: the saga carries the lines to restock
+            saga.setReservationId(UUID.randomUUID().toString());
+            order.getItems().forEach(item -> saga.getLines()
+                    .add(new OrderSaga.Line(item.getProductId(), item.getQuantity())));
+        }
+        saga.setType(OrderSaga.Type.CANCEL);
+        saga.setStatus(OrderSaga.Status.COMPENSATING);
+        saga.setUserId(order.getUserId());
+        saga.setOrderId(order.getId());
+        saga.setUpdatedAt(LocalDateTime.now());
+        return orderSagaRepository.save(saga);
+    }
+
+    public void release(OrderSaga saga) {
+        try {
+            if (saga.getLines().isEmpty()) {
+                serviceAuthentication.runAsService(() -> productClient.releaseReservation(saga.getReservationId()));
+            } else {
+                StockReservationRequest restock = new StockReservationRequest(saga.getReservationId(),
+                        saga.getLines().stream()
+                                .map(line -> new StockAdjustment(line.getProductId(), line.getQuantity()))
+                                .toList());
+                serviceAuthentication.runAsService(() -> productClient.restock(restock));
+            }
+            orderSagaRepository.transition(saga.getId(),
+                    OrderSaga.Status.COMPENSATING, OrderSaga.Status.COMPENSATED, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Could not release stock reservation {}, will retry", saga.getReservationId(), e);
+            recordFailure(saga, e);
+        }
+    }
+
+    // Picks up sagas nobody is driving any more; runs with a service token since there is no user
+    @Scheduled(fixedDelayString = "${order.saga.recovery-interval-ms:30000}")
+    public void recover() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+
+        serviceAuthentication.runAsService(() -> {
+            // Placement died or hung between logging the saga and persisting the order
+            orderSagaRepository.findTop100ByStatusAndUpdatedAtBeforeOrderById(OrderSaga.Status.STARTED, cutoff)
+                    .forEach(saga -> {
+                        if (orderSagaRepository.transition(saga.getId(),
+                                OrderSaga.Status.STARTED, OrderSaga.Status.COMPENSATING, LocalDateTime.now()) == 1) {
+                            release(saga);
+                        }
+                    });
+
+            orderSagaRepository.findTop100ByStatusAndUpdatedAtBeforeOrderById(OrderSaga.Status.ORDER_CREATED, cutoff)
+                    .forEach(this::confirm);
+
+            orderSagaRepository.findTop100ByStatusAndUpdatedAtBeforeOrderById(OrderSaga.Status.COMPENSATING, cutoff)
+                    .forEach(this::release);
+        });
+    }
+
+    private void recordFailure(OrderSaga saga, Exception e) {
+        String message = String.valueOf(e.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        orderSagaRepository.recordFailure(saga.getId(), message, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,140 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.order_service.dto.request.OrderSearchRequest;
+import com.quickcart.order_service.dto.response.OrderHistoryResponse;
+import com.quickcart.order_service.dto.response.OrderSearchResponse;
+import com.quickcart.order_service.mapper.OrderMapper;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderSummary;
+import com.quickcart.order_service.repository.OrderRepository;
+import com.quickcart.order_service.repository.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Paginated order reads, keyset on (placedAt, id). Customer history reads only order_summary; the
+// admin search returns full orders, so a page is the id scan plus one fetch join for the items.
+@Service
+@RequiredArgsConstructor
+public class OrderSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderMapper orderMapper;
+
+    @Transactional(readOnly = true)
+    public OrderSearchResponse search(OrderSearchRequest request) {
+        if (request.getPlacedFrom() != null && request.getPlacedTo() != null
+                && !request.getPlacedFrom().isBefore(request.getPlacedTo())) {
+            throw new ValidationException("placedFrom must be before placedTo");
+        }
+
+        OrderPage page = loadPage(request);
+        return new OrderSearchResponse(page.orders().stream().map(orderMapper::toResponse).toList(),
+                page.nextCursor());
+    }
+
+    // Served from the order_summary read model alone: one single-table range scan per page
+    @Transactional(readOnly = true)
+    public OrderHistoryResponse getOrderHistory(Long userId, String cursor, int size) {
+        checkPageSize(size);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        List<OrderSummary> rows = orderSummaryRepository.findHistoryPage(userId,
+                after != null ? after.placedAt() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<OrderSummary> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummary last = page.get(page.size() - 1);
+            nextCursor = new Cursor(last.getPlacedAt(), last.getOrderId()).encode();
+        }
+        return new OrderHistoryResponse(page.stream().map(orderMapper::toSummary).toList(), nextCursor);
+    }
+
+    private OrderPage loadPage(OrderSearchRequest request) {
+        int size = request.getSize();
+        checkPageSize(size);
+
+        Cursor after = request.getCursor() != null ? Cursor.decode(request.getCursor()) : null;
+
+        // One extra row tells us whether there is a next page without a COUNT
+        List<Long> ids = orderRepository.searchIds(
+                request.getStatus(),
+                request.getPaymentStatus(),
+                request.getUserId(),
+                request.getTrackingNumber(),
+                request.getPlacedFrom(),
+                request.getPlacedTo(),
+                after != null ? after.placedAt() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, size + 1));
+
+        boolean hasMore = ids.size() > size;
+        List<Long> pageIds = hasMore ? ids.subList(0, size) : ids;
+        if (pageIds.isEmpty()) {
+            return new OrderPage(List.of(), null);
+        }
+
+        Map<Long, Order> ordersById = orderRepository.findAllWithItemsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<Order> orders = pageIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        String nextCursor = null;
+        if (hasMore && !orders.isEmpty()) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new Cursor(last.getPlacedAt(), last.getId()).encode();
+        }
+        return new OrderPage(orders, nextCursor);
+    }
+
+    private static void checkPageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private record OrderPage(List<Order> orders, String nextCursor) {
+    }
+
+    // Opaque to clients: base64 of "<placedAt>|<id>" for the last order on the page
+    private record Cursor(LocalDateTime placedAt, Long id) {
+
+        String encode() {
+            String raw = placedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+    }
+}
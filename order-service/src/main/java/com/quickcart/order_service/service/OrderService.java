@@ -2,6 +2,10 @@ package com.quickcart.order_service.service;
 
 import com.quickcart.common.dto.*;
 import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.pricing.OrderCharges;
+import com.quickcart.common.pricing.PricingEngine;
+import com.quickcart.common.security.AuthenticatedUser;
+import com.quickcart.order_service.concurrent.FanOutScope;
 import com.quickcart.order_service.dto.request.OrderCancelRequest;
 import com.quickcart.order_service.dto.request.OrderRequest;
 import com.quickcart.order_service.dto.response.OrderResponse;
@@ -9,23 +13,32 @@ import com.quickcart.order_service.feign.AddressClient;
 import com.quickcart.order_service.feign.CartClient;
 import com.quickcart.order_service.feign.ProductClient;
 import com.quickcart.order_service.feign.UserClient;
+import com.quickcart.order_service.kafka.OrderKafkaProducer;
 import com.quickcart.order_service.mapper.OrderItemMapper;
 import com.quickcart.order_service.mapper.OrderMapper;
 import com.quickcart.order_service.model.Order;
 import com.quickcart.order_service.model.OrderItem;
+import com.quickcart.order_service.model.OrderSaga;
 import com.quickcart.order_service.repository.OrderItemRepository;
+import com.quickcart.order_service.repository.OrderArchiveRepository;
 import com.quickcart.order_service.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
@@ -37,35 +50,46 @@ public class OrderService {
     private final CartClient cartClient;
 
     private final OrderMapper orderMapper;
+    private final ExecutorService orderFanOutExecutor;
+    private final OrderSagaService orderSagaService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderSummaryProjector orderSummaryProjector;
+    private final OrderKafkaProducer orderKafkaProducer;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final PricingEngine pricingEngine;
+    private final OrderAnalyticsProjector orderAnalyticsProjector;
 
     private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || authentication.getName() == null) {
-            throw new AccessDeniedException("Unauthenticated");
-        }
-        String email = authentication.getName();
-        UserDto user = userClient.getUserByEmail(email);
-        if (user == null) {
-            throw new ValidationException("User not found for email: " + email);
-        }
-        return user.getId();
+        return AuthenticatedUser.current().resolveUserId(userClient::getUserByEmail);
     }
 
-    @Transactional
     public OrderResponse placeOrder(OrderRequest request) {
-        // 1. Fetch user/address
-        Long userId = getCurrentUserId();
+        // 1. Fetch address and cart concurrently while the user is resolved; the first failure cancels the other
+        Long userId;
+        Supplier<AddressDto> addressLookup;
+        Supplier<CartDto> cartLookup;
+        try (FanOutScope scope = FanOutScope.open(orderFanOutExecutor)) {
+            addressLookup = scope.fork(() -> addressClient.getAddressById(request.getShippingAddressId()));
+            cartLookup = scope.fork(cartClient::getCart);
+
+            userId = getCurrentUserId();
+            scope.join();
+        }
 
-        AddressDto address = addressClient.getAddressById(request.getShippingAddressId());
+        AddressDto address = addressLookup.get();
         if (address == null || !userId.equals(address.getUserId())) {
             throw new ValidationException("Address not found for user");
         }
 
-        // 2. Validate stock BEFORE creating order items
-        CartDto cart = cartClient.getCart();
-        validateStock(cart.getItems());
+        CartDto cart = cartLookup.get();
+        if (cart == null || cart.getItems() == null || cart.getItems().isEmpty()) {
+            throw new ValidationException("Cart is empty");
+        }
+
+        // 2. Fetch every product once and validate stock in memory
+        Map<Long, ProductDto> products = fetchProducts(cart.getItems());
+        validateStock(cart.getItems(), products);
 
-        // 3. Only proceed if stock is available
         Order order = new Order();
         order.setUserId(userId);
         order.setShippingAddressId(address.getId());
@@ -74,11 +98,9 @@ public class OrderService {
         order.setPlacedAt(LocalDateTime.now());
         order.setExpectedDeliveryDate(LocalDateTime.now().plusDays(7));
 
-
-        // 4. Convert cart items to order items and ADD TO ORDER (cascade saves them automatically)
+        // 3. Convert cart items to order items and ADD TO ORDER (cascade saves them automatically)
         cart.getItems().forEach(cartItem -> {
-            ProductDto product = productClient.getProductById(cartItem.getProductId())
-                    .orElseThrow(() -> new ValidationException("Product not available: " + cartItem.getProductId()));
+            ProductDto product = products.get(cartItem.getProductId());
 
             OrderItem orderItem = new OrderItem();
             orderItem.setProductId(cartItem.getProductId());
@@ -89,23 +111,62 @@ public class OrderService {
             order.addItem(orderItem);
         });
 
-        // 5. Calculate totals and decrement stock
-        calculateTotalsAndUpdateStock(order);
+        // 4. Calculate totals
+        calculateTotals(order);
+
+        // 5. Reserve all stock in one call; product-service re-checks under row locks.
+        // The saga is logged first so the reservation is released if anything below fails.
+        OrderSaga saga = orderSagaService.startPlacement(userId);
+        order.setStockReservationId(saga.getReservationId());
+        orderSagaService.reserve(saga, order.getItems().stream()
+                .map(item -> new StockAdjustment(item.getProductId(), item.getQuantity()))
+                .toList());
+
+        // 6. Save Order (items are saved automatically due to cascade) in a short local transaction
+        Order savedOrder;
+        try {
+            savedOrder = transactionTemplate.execute(status -> {
+                Order saved = orderRepository.save(order);
+                orderSummaryProjector.project(saved);
+                orderAnalyticsProjector.record(saved, null);
+                orderSagaService.markOrderCreated(saga, saved.getId());
+                orderKafkaProducer.sendOrderStatusChangedEvent(orderMapper.toStatusChangedEvent(saved, null));
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            orderSagaService.compensate(saga, e);
+            throw e;
+        }
 
-        // 6. Save Order (items are saved automatically due to cascade)
-        Order savedOrder = orderRepository.save(order);
+        // 7. Confirm the reservation; if that fails the saga recovery retries it
+        orderSagaService.confirm(saga);
 
-        // 7. Delete cart once order is placed
-        cartClient.deleteCart();
+        // 8. Delete cart once order is placed
+        try {
+            cartClient.deleteCart();
+        } catch (RuntimeException e) {
+            log.warn("Order {} placed but the cart of user {} could not be cleared", savedOrder.getId(), userId, e);
+        }
 
         return orderMapper.toResponse(savedOrder);
     }
 
-    private void validateStock(List<CartItemDto> cartItems) {
+    private Map<Long, ProductDto> fetchProducts(List<CartItemDto> cartItems) {
+        List<Long> productIds = cartItems.stream()
+                .map(CartItemDto::getProductId)
+                .distinct()
+                .toList();
+
+        return productClient.getProductsByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+    }
+
+    private void validateStock(List<CartItemDto> cartItems, Map<Long, ProductDto> products) {
         for (CartItemDto cartItem : cartItems) {
-            ProductDto product = productClient.getProductById(cartItem.getProductId())
-                    .orElseThrow(() -> new ValidationException(
-                            "Product not available: " + cartItem.getProductId()));
+            ProductDto product = products.get(cartItem.getProductId());
+            if (product == null || !product.isActive()) {
+                throw new ValidationException("Product not available: " + cartItem.getProductId());
+            }
 
             if (product.getStock() < cartItem.getQuantity()) {
                 throw new ValidationException(
@@ -115,36 +176,24 @@ public class OrderService {
         }
     }
 
-    private void calculateTotalsAndUpdateStock(Order order) {
-        BigDecimal itemTotal = BigDecimal.ZERO;
-
+    private void calculateTotals(Order order) {
+        long itemTotal = 0;
         for (OrderItem item : order.getItems()) {
-            // Re-fetch product with lock
-            ProductDto product = productClient.getProductById(item.getProductId())
-                    .orElseThrow(() -> new ValidationException("Product not available: " + item.getProductId()));
-
-            // Call product-service to decrement stock
-            productClient.decrementStock(item.getProductId(), item.getQuantity());
-
-            // Calculate item subtotal
-            itemTotal = itemTotal.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            itemTotal = Math.addExact(itemTotal, pricingEngine.lineTotal(item.getPrice(), item.getQuantity()));
         }
 
-        // Shipping + GST Calculation
-        BigDecimal shippingFee = new BigDecimal("90.00");
-        BigDecimal taxableAmount = itemTotal.add(shippingFee);
-        BigDecimal gst = taxableAmount.multiply(new BigDecimal("0.18"));
+        // Shipping + GST Calculation (same rules as the cart's checkout preview)
+        OrderCharges charges = pricingEngine.price(itemTotal);
 
-        order.setTotalAmount(taxableAmount.add(gst)); // (itemTotal + shipping + GST)
-        order.setShippingFee(shippingFee);
-        order.setCgstAmount(gst.divide(new BigDecimal("2"))); // 9% CGST
-        order.setSgstAmount(gst.divide(new BigDecimal("2"))); // 9% SGST
+        order.setTotalAmount(charges.grandTotal()); // (itemTotal + shipping + GST)
+        order.setShippingFee(charges.shippingFee());
+        order.setCgstAmount(charges.cgstAmount());
+        order.setSgstAmount(charges.sgstAmount());
     }
 
-
     @Transactional(readOnly = true)
     public OrderResponse getOrderDetails(Long orderId, Long userId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = findIncludingArchive(orderId)
                 .orElseThrow(() -> new ValidationException("Order not found"));
 
         if (!order.getUserId().equals(userId)) {
@@ -154,40 +203,42 @@ public class OrderService {
         return orderMapper.toResponse(order);
     }
 
-    @Transactional
     public OrderResponse cancelOrder(Long userId, Long orderId, OrderCancelRequest request) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ValidationException("Order not found"));
+        CancelledOrder cancelled = transactionTemplate.execute(status -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ValidationException("Order not found"));
 
-        if (!order.getUserId().equals(userId)) {
-            throw new ValidationException("Order access denied");
-        }
+            if (!order.getUserId().equals(userId)) {
+                throw new ValidationException("Order access denied");
+            }
 
-        if (!order.getStatus().isCancellable()) {
-            throw new ValidationException(
-                    String.format("Cannot cancel order in %s state", order.getStatus())
-            );
-        }
+            if (!order.getStatus().isCancellable()) {
+                throw new ValidationException(
+                        String.format("Cannot cancel order in %s state", order.getStatus())
+                );
+            }
 
-        // Validate reason
-        if (!order.getStatus().getCancellationReasons().contains(request.getReason())) {
-            throw new ValidationException("Invalid cancellation reason");
-        }
+            // Validate reason
+            if (!order.getStatus().getCancellationReasons().contains(request.getReason())) {
+                throw new ValidationException("Invalid cancellation reason");
+            }
 
-        order.setCancellationReason(request.getReason());
+            Order.Status previousStatus = order.getStatus();
+            order.setCancellationReason(request.getReason());
+            order.setStatus(Order.Status.CANCELLED);
+            order.setCancelledAt(LocalDateTime.now());
+            Order saved = orderRepository.save(order);
+            orderSummaryProjector.project(saved);
+            orderAnalyticsProjector.record(saved, previousStatus);
+            orderKafkaProducer.sendOrderStatusChangedEvent(orderMapper.toStatusChangedEvent(saved, previousStatus));
 
-        // Restock items
-        order.getItems().forEach(item -> {
-            ProductDto product = productClient.getProductById(item.getProductId())
-                    .orElseThrow(() -> new ValidationException("Product not found"));
-            // Call product-service to increase stock
-            productClient.incrementStock(item.getProductId(), item.getQuantity());
+            return new CancelledOrder(orderMapper.toResponse(saved), orderSagaService.startCancellation(saved));
         });
 
-        order.setStatus(Order.Status.CANCELLED);
-        order.setCancelledAt(LocalDateTime.now());
+        // Restock once the cancellation has committed; the saga recovery retries if this fails
+        orderSagaService.release(cancelled.saga());
 
-        return orderMapper.toResponse(orderRepository.save(order));
+        return cancelled.response();
     }
 
     public List<OrderResponse> getOrdersByUserEmail(String email) {
@@ -196,11 +247,24 @@ public class OrderService {
             throw new ValidationException("User not found for email: " + email);
         }
 
-        return orderRepository.findByUserId(user.getId()).stream()
+        return getOrdersByUserId(user.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrdersByUserId(Long userId) {
+        return Stream.concat(
+                        orderRepository.findAllWithItemsByUserId(userId).stream(),
+                        orderArchiveRepository.findByUserId(userId).stream())
                 .map(orderMapper::toResponse)
                 .toList();
     }
 
+    // Closed orders move to the archive after a while; reads fall back to it so they never disappear
+    private Optional<Order> findIncludingArchive(Long orderId) {
+        return orderRepository.findById(orderId)
+                .or(() -> orderArchiveRepository.findById(orderId));
+    }
+
 
 
     @Transactional(readOnly = true)
@@ -212,7 +276,7 @@ public class OrderService {
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = findIncludingArchive(orderId)
                 .orElseThrow(() -> new ValidationException("Order not found"));
         return orderMapper.toResponse(order);
     }
@@ -239,10 +303,20 @@ public class OrderService {
                 order.setDeliveredAt(LocalDateTime.now());
                 order.setRefundDeadline(LocalDateTime.now().plusDays(14));
                 break;
+            case CANCELLED:
+                order.setCancelledAt(LocalDateTime.now());
+                break;
         }
 
+        Order.Status previousStatus = order.getStatus();
         order.setStatus(status);
-        return orderMapper.toResponse(orderRepository.save(order));
+        Order saved = orderRepository.save(order);
+        orderSummaryProjector.project(saved);
+        orderAnalyticsProjector.record(saved, previousStatus);
+        orderKafkaProducer.sendOrderStatusChangedEvent(orderMapper.toStatusChangedEvent(saved, previousStatus));
+        return orderMapper.toResponse(saved);
     }
 
-}
\ No newline at end of file
+    private record CancelledOrder(OrderResponse response, OrderSaga saga) {
+    }
+}
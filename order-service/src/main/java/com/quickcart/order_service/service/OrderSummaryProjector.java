@@ -0,0 +1,77 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.order_service.mapper.OrderMapper;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderSummary;
+import com.quickcart.order_service.repository.OrderRepository;
+import com.quickcart.order_service.repository.OrderSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Keeps order_summary in step with orders. Every OrderService write that changes a listed field
+// calls project() inside its own transaction, so the summary commits or rolls back with the order.
+@Slf4j
+@Service
+public class OrderSummaryProjector {
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillChunkSize;
+
+    public OrderSummaryProjector(OrderSummaryRepository orderSummaryRepository,
+                                 OrderRepository orderRepository,
+                                 OrderMapper orderMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${order.summary.backfill-chunk-size:500}") int backfillChunkSize) {
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.backfillChunkSize = backfillChunkSize;
+    }
+
+    public void project(Order order) {
+        OrderSummary summary = orderSummaryRepository.findById(order.getId()).orElseGet(OrderSummary::new);
+        orderMapper.updateSummary(order, summary);
+        orderSummaryRepository.save(summary);
+    }
+
+    // Fills in rows for orders placed before this table existed, one short transaction per chunk
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0;
+        int total = 0;
+        try {
+            while (true) {
+                List<Long> ids = orderSummaryRepository.findUnprojectedOrderIds(afterId,
+                        PageRequest.of(0, backfillChunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                transactionTemplate.executeWithoutResult(status ->
+                        orderRepository.findAllWithItemsByIdIn(ids).forEach(this::project));
+                total += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } catch (DataAccessException e) {
+            // Another instance is backfilling the same rows; whatever is left is picked up on the next start
+            log.warn("Order summary backfill stopped after {} orders", total, e);
+            return;
+        }
+
+        if (total > 0) {
+            log.info("Backfilled {} order summaries", total);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.quickcart.order_service.repository;
+
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.model.OrderItem;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cost of persisting one order with its items, with and without JDBC batching. Needs a MySQL to write
+// to: -Dbench.jdbc.url, -Dbench.jdbc.user and -Dbench.jdbc.password (defaults to a local quickcart_bench).
+// Besides the timings, each iteration prints the statements sent per order, i.e. the round trips.
+// Run with: mvn test-compile, then execute main() with the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPersistenceBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int itemCount;
+
+    // false is the old cost: with IDENTITY ids Hibernate had to send every INSERT on its own
+    @Param({"false", "true"})
+    public boolean batching;
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong orders = new AtomicLong();
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.jdbc.url",
+                "jdbc:mysql://localhost:3306/quickcart_bench?createDatabaseIfNotExist=true&rewriteBatchedStatements=true"));
+        dataSource.setUsername(System.getProperty("bench.jdbc.user", "root"));
+        dataSource.setPassword(System.getProperty("bench.jdbc.password", ""));
+
+        // Same settings as config-repo/application.yml, minus batching when it is off
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "update");
+        properties.put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        properties.put("hibernate.jdbc.batch_size", batching ? "50" : "1");
+        properties.put("hibernate.order_inserts", String.valueOf(batching));
+        properties.put("hibernate.order_updates", String.valueOf(batching));
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(counting(dataSource));
+        factory.setPackagesToScan(Order.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statements.set(0);
+        orders.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatementsPerOrder() {
+        System.out.printf("%n%d items, batching %s: %.2f statements per order%n",
+                itemCount, batching ? "on" : "off", (double) statements.get() / Math.max(1, orders.get()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Long persistOrder() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Order order = order();
+            entityManager.persist(order);
+            entityManager.getTransaction().commit();
+            orders.incrementAndGet();
+            return order.getId();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setUserId(42L);
+        order.setShippingAddressId(7L);
+        order.setStatus(Order.Status.ORDER_PLACED);
+        order.setPaymentMethod(Order.PaymentMethod.COD);
+        order.setTotalAmount(new BigDecimal("499.00").multiply(BigDecimal.valueOf(itemCount)));
+
+        for (long productId = 1; productId <= itemCount; productId++) {
+            OrderItem item = new OrderItem();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            item.setPrice(new BigDecimal("499.00"));
+            item.setProductName("Product " + productId);
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    // Counts every execute* call, the sequence table reads and bumps included
+    private DataSource counting(DataSource target) {
+        return delegate(DataSource.class, target, (method, result) ->
+                result instanceof Connection connection ? delegate(Connection.class, connection, (m, statement) -> {
+                    if (statement instanceof CallableStatement callable) {
+                        return delegate(CallableStatement.class, callable, this::count);
+                    }
+                    if (statement instanceof PreparedStatement prepared) {
+                        return delegate(PreparedStatement.class, prepared, this::count);
+                    }
+                    if (statement instanceof Statement plain) {
+                        return delegate(Statement.class, plain, this::count);
+                    }
+                    return statement;
+                }) : result);
+    }
+
+    private Object count(String method, Object result) {
+        if (method.startsWith("execute")) {
+            statements.incrementAndGet();
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T delegate(Class<T> type, T target, ResultWrapper wrapper) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return wrapper.wrap(method.getName(), method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(String method, Object result);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderPersistenceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,221 @@
+package com.quickcart.order_service.service;
+
+import com.quickcart.common.dto.AddressDto;
+import com.quickcart.common.dto.CartDto;
+import com.quickcart.common.dto.CartItemDto;
+import com.quickcart.common.dto.ProductDto;
+import com.quickcart.common.event.OrderStatusChangedEvent;
+import com.quickcart.common.pricing.PricingEngine;
+import com.quickcart.common.security.AuthenticatedUser;
+import com.quickcart.order_service.dto.request.OrderRequest;
+import com.quickcart.order_service.dto.response.OrderResponse;
+import com.quickcart.order_service.feign.AddressClient;
+import com.quickcart.order_service.feign.CartClient;
+import com.quickcart.order_service.feign.ProductClient;
+import com.quickcart.order_service.feign.UserClient;
+import com.quickcart.order_service.kafka.OrderKafkaProducer;
+import com.quickcart.order_service.mapper.OrderMapper;
+import com.quickcart.order_service.model.Order;
+import com.quickcart.order_service.repository.OrderArchiveRepository;
+import com.quickcart.order_service.repository.OrderRepository;
+import com.quickcart.order_service.repository.OrderSagaRepository;
+import com.quickcart.order_service.repository.OrderSummaryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+// Order placement latency against cart size, with every remote call stubbed to a fixed delay.
+// Run with: mvn test-compile, then execute main() with the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPlacementBenchmark {
+
+    @Param({"1", "5", "10", "25"})
+    public int cartSize;
+
+    // Rough cost of one Feign round trip inside the cluster
+    @Param({"2"})
+    public long remoteLatencyMillis;
+
+    private ExecutorService fanOutExecutor;
+    private OrderService orderService;
+    private AddressClient addressClient;
+    private CartClient cartClient;
+    private ProductClient productClient;
+    private OrderRepository orderRepository;
+    private OrderRequest request;
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @Setup
+    public void setUp() {
+        AddressDto address = new AddressDto();
+        address.setId(7L);
+        address.setUserId(42L);
+
+        CartDto cart = new CartDto();
+        cart.setItems(new ArrayList<>());
+        for (long productId = 1; productId <= cartSize; productId++) {
+            CartItemDto item = new CartItemDto();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            cart.getItems().add(item);
+        }
+
+        addressClient = remote(AddressClient.class, (method, args) -> address);
+        cartClient = remote(CartClient.class, (method, args) -> method.getName().equals("getCart") ? cart : null);
+        productClient = remote(ProductClient.class, (method, args) -> switch (method.getName()) {
+            case "getProductById" -> Optional.of(product((Long) args[0]));
+            case "getProductsByIds" -> ((Collection<?>) args[0]).stream().map(id -> product((Long) id)).toList();
+            default -> null;
+        });
+        orderRepository = local(OrderRepository.class, (method, args) -> method.getName().equals("save") ? args[0] : null);
+        OrderMapper orderMapper = local(OrderMapper.class, (method, args) ->
+                method.getReturnType() == OrderStatusChangedEvent.class ? new OrderStatusChangedEvent() : new OrderResponse());
+
+        // The saga log, summary row and order transaction are local and cheap next to the remote calls
+        OrderSagaRepository sagaRepository = local(OrderSagaRepository.class,
+                (method, args) -> method.getReturnType() == int.class ? 1 : args[0]);
+        OrderSagaService orderSagaService = new OrderSagaService(sagaRepository, productClient, null, 120);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(local(PlatformTransactionManager.class,
+                (method, args) -> method.getName().equals("getTransaction") ? new SimpleTransactionStatus() : null));
+
+        OrderSummaryRepository summaryRepository = local(OrderSummaryRepository.class,
+                (method, args) -> method.getName().equals("findById") ? Optional.empty() : args[0]);
+        OrderSummaryProjector summaryProjector = new OrderSummaryProjector(summaryRepository, orderRepository,
+                orderMapper, transactionTemplate, 500);
+
+        fanOutExecutor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+        orderService = new OrderService(orderRepository, local(UserClient.class, (method, args) -> null),
+                addressClient, productClient, cartClient, orderMapper, fanOutExecutor,
+                orderSagaService, transactionTemplate, summaryProjector, new OrderKafkaProducer(null) {
+                    // Publishing is fire-and-forget after commit, off the placement's critical path
+                    @Override
+                    public void sendOrderStatusChangedEvent(OrderStatusChangedEvent event) {
+                    }
+                }, new OrderArchiveRepository(null),
+                new PricingEngine(new BigDecimal("90.00"), BigDecimal.ZERO, new BigDecimal("0.18")),
+                new OrderAnalyticsProjector(null, null) {
+                    // A few upserts in the order's own transaction
+                    @Override
+                    public void record(Order order, Order.Status fromStatus) {
+                    }
+                });
+
+        request = new OrderRequest();
+        request.setShippingAddressId(address.getId());
+        request.setPaymentMethod("COD");
+
+        authentication = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(42L, "bench@quickcart.com", List.of("ROLE_USER")), "token", List.of());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fanOutExecutor.shutdown();
+    }
+
+    @Benchmark
+    public OrderResponse pipeline() {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        try {
+            return orderService.placeOrder(request);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // The call pattern placeOrder used to have: each product fetched three times and its stock
+    // decremented on its own, all in sequence
+    @Benchmark
+    public void sequentialPerItemCalls(Blackhole blackhole) {
+        blackhole.consume(addressClient.getAddressById(request.getShippingAddressId()));
+        CartDto cart = cartClient.getCart();
+
+        cart.getItems().forEach(item -> blackhole.consume(productClient.getProductById(item.getProductId())));
+        cart.getItems().forEach(item -> blackhole.consume(productClient.getProductById(item.getProductId())));
+        cart.getItems().forEach(item -> {
+            blackhole.consume(productClient.getProductById(item.getProductId()));
+            productClient.decrementStock(item.getProductId(), item.getQuantity());
+        });
+
+        blackhole.consume(orderRepository.save(null));
+        cartClient.deleteCart();
+    }
+
+    private static ProductDto product(Long id) {
+        ProductDto product = new ProductDto();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setActive(true);
+        product.setPrice(new BigDecimal("499.00"));
+        product.setStock(1_000);
+        return product;
+    }
+
+    // Feign client stand-in that pays remoteLatencyMillis on every call
+    private <T> T remote(Class<T> type, BiFunction<Method, Object[], Object> answer) {
+        return local(type, (method, args) -> {
+            try {
+                Thread.sleep(remoteLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return answer.apply(method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T local(Class<T> type, BiFunction<Method, Object[], Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            return answer.apply(method, args);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderPlacementBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -2,6 +2,7 @@ package com.quickcart.product_service.controller;
 
 import com.quickcart.product_service.dto.request.ProductRequest;
 import com.quickcart.product_service.dto.request.ProductUpdateRequest;
+import com.quickcart.product_service.dto.response.CatalogSnapshotResponse;
 import com.quickcart.product_service.dto.response.ProductResponse;
 import com.quickcart.product_service.service.ProductService;
 import jakarta.validation.Valid;
@@ -38,6 +39,12 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
+    @GetMapping("/batch")
+    public ResponseEntity<List<ProductResponse>> getProductsByIds(
+            @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getActiveProductById(
             @PathVariable Long id) {
@@ -51,6 +58,13 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductById(id));
     }
 
+    // Re-publishes every product to product-changed-topic; run once for products older than the topic
+    @PostMapping("/admin/catalog-snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogSnapshotResponse> publishCatalogSnapshot() {
+        return ResponseEntity.ok(new CatalogSnapshotResponse(productService.publishCatalogSnapshot()));
+    }
+
     @GetMapping("/filter")
     public ResponseEntity<List<ProductResponse>> filterProducts(
             @RequestParam(required = false) String category,
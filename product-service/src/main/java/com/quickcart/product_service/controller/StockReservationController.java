@@ -0,0 +1,42 @@
+package com.quickcart.product_service.controller;
+
+import com.quickcart.common.dto.StockReservationRequest;
+import com.quickcart.product_service.service.StockReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+// Called by order-service's sagas with a service token; customers never touch stock directly
+@RestController
+@RequestMapping("/api/products/reservations")
+@PreAuthorize("hasAnyRole('SERVICE','ADMIN')")
+@RequiredArgsConstructor
+public class StockReservationController {
+    private final StockReservationService stockReservationService;
+
+    @PostMapping
+    public ResponseEntity<Void> reserve(@Valid @RequestBody StockReservationRequest request) {
+        stockReservationService.reserve(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{reservationId}/confirm")
+    public ResponseEntity<Void> confirm(@PathVariable String reservationId) {
+        stockReservationService.confirm(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{reservationId}/release")
+    public ResponseEntity<Void> release(@PathVariable String reservationId) {
+        stockReservationService.release(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/restocks")
+    public ResponseEntity<Void> restock(@Valid @RequestBody StockReservationRequest request) {
+        stockReservationService.restock(request);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.quickcart.product_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSnapshotResponse {
+    private int productsPublished;
+}
@@ -0,0 +1,54 @@
+package com.quickcart.product_service.kafka;
+
+import com.quickcart.common.event.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class ProductKafkaProducer {
+
+    public static final String PRODUCT_CHANGED_TOPIC = "product-changed-topic";
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductKafkaProducer.class);
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    // Sent after commit so consumers never see a change that was rolled back. The event is built then
+    // too, so it carries the product version the commit wrote.
+    public void sendProductChangedEvent(Supplier<ProductChangedEvent> event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event.get());
+                }
+            });
+        } else {
+            send(event.get());
+        }
+    }
+
+    // Sent straight away and waited for, for callers that must publish before releasing their row locks
+    public void sendAndWait(List<ProductChangedEvent> events) {
+        CompletableFuture.allOf(events.stream()
+                        .map(this::send)
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private CompletableFuture<?> send(ProductChangedEvent event) {
+        // Keyed by product so every change to one product lands on the same partition, in order
+        CompletableFuture<?> sent = kafkaTemplate.send(PRODUCT_CHANGED_TOPIC, String.valueOf(event.getProductId()), event);
+        logger.debug("ProductChangedEvent sent to Kafka topic '{}': {}", PRODUCT_CHANGED_TOPIC, event);
+        return sent;
+    }
+}
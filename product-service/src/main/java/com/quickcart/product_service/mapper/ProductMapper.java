@@ -1,5 +1,6 @@
 package com.quickcart.product_service.mapper;
 
+import com.quickcart.common.event.ProductChangedEvent;
 import com.quickcart.product_service.dto.request.ProductRequest;
 import com.quickcart.product_service.dto.request.ProductUpdateRequest;
 import com.quickcart.product_service.dto.response.ProductResponse;
@@ -17,6 +18,7 @@ public abstract class ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "active", constant = "true")
     public abstract Product toEntity(ProductRequest request);
 
@@ -24,9 +26,18 @@ public abstract class ProductMapper {
     @Mapping(target = "reviewCount", expression = "java(getReviewCount(entity.getId()))")
     public abstract ProductResponse toResponse(Product entity);
 
+    // Lean variant for bulk lookups: skips the per-product review-service calls
+    @Mapping(target = "averageRating", ignore = true)
+    @Mapping(target = "reviewCount", ignore = true)
+    public abstract ProductResponse toSummaryResponse(Product entity);
+
+    @Mapping(target = "productId", source = "id")
+    public abstract ProductChangedEvent toChangedEvent(Product entity);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "updatedAt", expression = "java(java.time.LocalDateTime.now())")
     public abstract void updateFromDto(ProductUpdateRequest dto, @MappingTarget Product entity);
 
@@ -57,6 +57,11 @@ public class Product {
     @Column
     private LocalDateTime updatedAt;
 
+    // Bumped by every update; carried on ProductChangedEvent so replicas can order copies of a product
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public enum Gender {
         MEN, WOMEN, KIDS, GENZ, OTHER
     }
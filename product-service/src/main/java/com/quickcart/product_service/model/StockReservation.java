@@ -0,0 +1,55 @@
+package com.quickcart.product_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Stock taken on behalf of an order. Lives on after release as a tombstone, so a reserve that
+// arrives after its own release is refused instead of taking stock nobody will give back.
+@Entity
+@Data
+@Table(name = "stock_reservations")
+public class StockReservation {
+    public enum Status {
+        RESERVED, CONFIRMED, RELEASED
+    }
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @ElementCollection
+    @CollectionTable(name = "stock_reservation_lines", joinColumns = @JoinColumn(name = "reservation_id"))
+    private List<Line> lines = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        @Column(nullable = false)
+        private Long productId;
+
+        @Column(nullable = false)
+        private int quantity;
+    }
+}
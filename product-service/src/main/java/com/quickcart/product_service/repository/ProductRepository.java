@@ -3,12 +3,13 @@ package com.quickcart.product_service.repository;
 import com.quickcart.product_service.model.Product;
 import com.quickcart.product_service.model.Product.Gender;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,11 +24,25 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByGenderAndActiveTrue(Gender gender);
 
-    @Modifying
-    @Query("UPDATE Product p SET p.active = false WHERE p.id = :id")
-    void softDelete(Long id);
-
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id AND p.active = true")
     Optional<Product> findByIdAndActiveTrueWithLock(Long id);
+
+    // Locks in id order so concurrent multi-product orders cannot deadlock each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids AND p.active = true ORDER BY p.id")
+    List<Product> findAllActiveByIdWithLock(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdWithLock(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdWithLock(Long id);
+
+    // Keyset chunk for the catalog snapshot, locked until the chunk is published
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Product> findChunkWithLock(Long afterId, Pageable pageable);
 }
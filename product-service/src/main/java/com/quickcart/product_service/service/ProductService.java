@@ -1,30 +1,45 @@
 package com.quickcart.product_service.service;
 
+import com.quickcart.common.dto.StockAdjustment;
+import com.quickcart.common.event.ProductChangedEvent;
 import com.quickcart.common.exception.ValidationException;
 import com.quickcart.product_service.dto.request.ProductRequest;
 import com.quickcart.product_service.dto.request.ProductUpdateRequest;
 import com.quickcart.product_service.dto.response.ProductResponse;
+import com.quickcart.product_service.kafka.ProductKafkaProducer;
 import com.quickcart.product_service.mapper.ProductMapper;
 import com.quickcart.product_service.model.Product;
 import com.quickcart.product_service.model.Product.Gender;
 import com.quickcart.product_service.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final int MAX_BATCH_SIZE = 200;
+    private static final int SNAPSHOT_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductKafkaProducer productKafkaProducer;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public ProductResponse createProduct(ProductRequest request) {
-        Product product = productMapper.toEntity(request);
-        return productMapper.toResponse(productRepository.save(product));
+        Product product = productRepository.save(productMapper.toEntity(request));
+        productKafkaProducer.sendProductChangedEvent(() -> productMapper.toChangedEvent(product));
+        return productMapper.toResponse(product);
     }
 
     @Transactional(readOnly = true)
@@ -55,12 +70,26 @@ public class ProductService {
                 .orElseThrow(() -> new ValidationException("Product not found"));
     }
 
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getProductsByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Cannot fetch more than " + MAX_BATCH_SIZE + " products at once");
+        }
+
+        return productRepository.findAllById(ids).stream()
+                .map(productMapper::toSummaryResponse)
+                .toList();
+    }
+
+    // Locked like the stock paths, so an edit cannot overwrite a concurrent stock change
     @Transactional
     public ProductResponse updateProduct(Long id, ProductUpdateRequest request) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findByIdWithLock(id)
                 .orElseThrow(() -> new ValidationException("Product not found"));
         productMapper.updateFromDto(request, product);
-        return productMapper.toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        productKafkaProducer.sendProductChangedEvent(() -> productMapper.toChangedEvent(saved));
+        return productMapper.toResponse(saved);
     }
 
     @Transactional
@@ -74,6 +103,53 @@ public class ProductService {
 
         product.setStock(product.getStock() - quantity);
         productRepository.save(product);
+        productKafkaProducer.sendProductChangedEvent(() -> productMapper.toChangedEvent(product));
+    }
+
+    // All-or-nothing: every product is locked and checked before any stock is taken
+    @Transactional
+    public void decrementStock(List<StockAdjustment> adjustments) {
+        Map<Long, Integer> quantities = mergeQuantities(adjustments);
+        List<Product> products = productRepository.findAllActiveByIdWithLock(quantities.keySet());
+        if (products.size() != quantities.size()) {
+            Set<Long> found = products.stream().map(Product::getId).collect(Collectors.toSet());
+            Long missing = quantities.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+            throw new ValidationException("Product not available: " + missing);
+        }
+
+        for (Product product : products) {
+            if (product.getStock() < quantities.get(product.getId())) {
+                throw new ValidationException("Insufficient stock for product: " + product.getName());
+            }
+        }
+
+        products.forEach(product -> product.setStock(product.getStock() - quantities.get(product.getId())));
+        productRepository.saveAll(products);
+        products.forEach(product -> productKafkaProducer.sendProductChangedEvent(() -> productMapper.toChangedEvent(product)));
+    }
+
+    // Returns stock to products whether or not they are still active, since it was taken from them
+    @Transactional
+    public void incrementStock(List<StockAdjustment> adjustments) {
+        Map<Long, Integer> quantities = mergeQuantities(adjustments);
+        List<Product> products = productRepository.findAllByIdWithLock(quantities.keySet());
+
+        products.forEach(product -> product.setStock(product.getStock() + quantities.get(product.getId())));
+        productRepository.saveAll(products);
+        products.forEach(product -> productKafkaProducer.sendProductChangedEvent(() -> productMapper.toChangedEvent(product)));
+    }
+
+    private Map<Long, Integer> mergeQuantities(List<StockAdjustment> adjustments) {
+        if (adjustments.isEmpty()) {
+            throw new ValidationException("No stock adjustments given");
+        }
+
+        Map<Long, Integer> quantities = adjustments.stream()
+                .collect(Collectors.toMap(StockAdjustment::getProductId, StockAdjustment::getQuantity, Integer::sum));
+        if (quantities.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Cannot update more than " + MAX_BATCH_SIZE + " products at once");
+        }
+        return quantities;
     }
 
     @Transactional
@@ -83,6 +159,7 @@ public class ProductService {
 
         product.setStock(product.getStock() + quantity);
         productRepository.save(product);
+        productKafkaProducer.sendProductChangedEvent(() -> productMapper.toChangedEvent(product));
     }
 
 
@@ -105,11 +182,40 @@ public class ProductService {
         }
     }
 
+    // Soft delete through the entity, so the version moves like on any other change
     @Transactional
     public void deleteProduct(Long id) {
-        // Optional: verify product exists before soft delete
-        productRepository.findById(id)
+        Product product = productRepository.findByIdWithLock(id)
                 .orElseThrow(() -> new ValidationException("Product not found"));
-        productRepository.softDelete(id);
+        product.setActive(false);
+        productRepository.save(product);
+        productKafkaProducer.sendProductChangedEvent(() -> productMapper.toChangedEvent(product));
+    }
+
+    // Admin one-off: seeds the compacted product-changed topic with every product, e.g. for products
+    // that predate the topic. Each chunk is published while its rows are locked, so a change committing
+    // meanwhile is always published after the snapshot's copy and stays the latest record for its key.
+    public int publishCatalogSnapshot() {
+        int published = 0;
+        long lastId = 0;
+
+        while (true) {
+            long afterId = lastId;
+            List<Product> chunk = transactionTemplate.execute(status -> {
+                List<Product> products = productRepository.findChunkWithLock(afterId, PageRequest.of(0, SNAPSHOT_CHUNK_SIZE));
+                productKafkaProducer.sendAndWait(products.stream().map(productMapper::toChangedEvent).toList());
+                return products;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+
+            published += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < SNAPSHOT_CHUNK_SIZE) {
+                break;
+            }
+        }
+        return published;
     }
 }
@@ -0,0 +1,98 @@
+package com.quickcart.product_service.service;
+
+import com.quickcart.common.dto.StockAdjustment;
+import com.quickcart.common.dto.StockReservationRequest;
+import com.quickcart.common.exception.ValidationException;
+import com.quickcart.product_service.model.StockReservation;
+import com.quickcart.product_service.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+// Reserve / confirm / release / restock for order-service's sagas. Every call is idempotent, so the
+// saga can retry any step until it gets an answer.
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductService productService;
+
+    @Transactional
+    public void reserve(StockReservationRequest request) {
+        Optional<StockReservation> existing = stockReservationRepository.findByIdWithLock(request.getReservationId());
+        if (existing.isPresent()) {
+            if (existing.get().getStatus() == StockReservation.Status.RELEASED) {
+                throw new ValidationException("Reservation already released: " + request.getReservationId());
+            }
+            // A retry of a reserve that already went through
+            return;
+        }
+
+        productService.decrementStock(request.getLines());
+
+        StockReservation reservation = new StockReservation();
+        reservation.setId(request.getReservationId());
+        reservation.setStatus(StockReservation.Status.RESERVED);
+        request.getLines().forEach(line -> reservation.getLines()
+                .add(new StockReservation.Line(line.getProductId(), line.getQuantity())));
+        stockReservationRepository.save(reservation);
+    }
+
+    @Transactional
+    public void confirm(String reservationId) {
+        StockReservation reservation = stockReservationRepository.findByIdWithLock(reservationId)
+                .orElseThrow(() -> new ValidationException("Reservation not found: " + reservationId));
+
+        if (reservation.getStatus() == StockReservation.Status.RELEASED) {
+            throw new ValidationException("Reservation already released: " + reservationId);
+        }
+        reservation.setStatus(StockReservation.Status.CONFIRMED);
+    }
+
+    // Gives the stock back, whether the order failed (RESERVED) or was cancelled later (CONFIRMED)
+    @Transactional
+    public void release(String reservationId) {
+        Optional<StockReservation> existing = stockReservationRepository.findByIdWithLock(reservationId);
+        if (existing.isEmpty()) {
+            // The reserve never landed (or has not landed yet): leave a tombstone so it cannot
+            StockReservation tombstone = new StockReservation();
+            tombstone.setId(reservationId);
+            tombstone.setStatus(StockReservation.Status.RELEASED);
+            stockReservationRepository.save(tombstone);
+            return;
+        }
+
+        StockReservation reservation = existing.get();
+        if (reservation.getStatus() == StockReservation.Status.RELEASED) {
+            return;
+        }
+
+        List<StockAdjustment> lines = reservation.getLines().stream()
+                .map(line -> new StockAdjustment(line.getProductId(), line.getQuantity()))
+                .toList();
+        productService.incrementStock(lines);
+        reservation.setStatus(StockReservation.Status.RELEASED);
+    }
+
+    // Gives back stock taken before reservations existed (order-service's cancel saga for those orders).
+    // Recorded as an already released reservation, so a retry finds it and restocks nothing.
+    @Transactional
+    public void restock(StockReservationRequest request) {
+        if (stockReservationRepository.findByIdWithLock(request.getReservationId()).isPresent()) {
+            return;
+        }
+
+        productService.incrementStock(request.getLines());
+
+        StockReservation reservation = new StockReservation();
+        reservation.setId(request.getReservationId());
+        reservation.setStatus(StockReservation.Status.RELEASED);
+        request.getLines().forEach(line -> reservation.getLines()
+                .add(new StockReservation.Line(line.getProductId(), line.getQuantity())));
+        stockReservationRepository.save(reservation);
+    }
+}
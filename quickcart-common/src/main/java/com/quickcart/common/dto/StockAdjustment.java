@@ -0,0 +1,18 @@
+package com.quickcart.common.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustment {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @Positive(message = "Quantity must be positive")
+    private int quantity;
+}
@@ -0,0 +1,22 @@
+package com.quickcart.common.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// reservationId is chosen by the caller, so retrying a reservation never takes stock twice
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+    @NotBlank(message = "Reservation ID is required")
+    private String reservationId;
+
+    @NotEmpty(message = "At least one line is required")
+    private List<@Valid StockAdjustment> lines;
+}
@@ -0,0 +1,15 @@
+package com.quickcart.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// An order accepted by the async intake, waiting to be placed on behalf of the user who sent it.
+// Only a pointer: who placed it and what they asked for are read from the order_intake row, so
+// nothing in the payload decides whose identity the order is placed under.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeEvent {
+    private String intakeId;
+}
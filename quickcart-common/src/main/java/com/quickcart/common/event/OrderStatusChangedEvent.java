@@ -0,0 +1,30 @@
+package com.quickcart.common.event;
+
+import com.quickcart.common.dto.OrderDto;
+import com.quickcart.common.dto.OrderItemDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One status transition of an order, keyed by orderId so each order's transitions arrive in sequence
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private Long orderId;
+    private Long userId;
+    // null when the order has just been placed
+    private OrderDto.OrderStatus fromStatus;
+    private OrderDto.OrderStatus toStatus;
+    private OrderDto.PaymentStatus paymentStatus;
+    private List<OrderItemDto> items;
+    private LocalDateTime placedAt;
+    private LocalDateTime shippedAt;
+    private LocalDateTime deliveredAt;
+    private LocalDateTime cancelledAt;
+    private LocalDateTime refundDeadline;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,22 @@
+package com.quickcart.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Latest state of a product, keyed by productId on a compacted topic. version grows with every change
+// to the product, so a consumer can drop a copy older than the one it holds.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private Long productId;
+    private String name;
+    private BigDecimal price;
+    private int stock;
+    private String imageUrl;
+    private boolean active;
+    private long version;
+}
@@ -0,0 +1,54 @@
+package com.quickcart.common.persistence;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Entities moved from IDENTITY to a pooled sequence keep their existing rows, but on MySQL Hibernate
+// backs each sequence with a one-row table that starts at 1. This moves every such sequence past the
+// highest id already in use. Runs once all beans exist, which is before the web server, schedulers
+// and Kafka listeners start, so nothing has drawn an id yet. Not a @Component: services with a
+// database declare it as a bean with their own sequence-to-table mapping.
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    // allocationSize of every pooled @SequenceGenerator: ids drawn per trip to the sequence table
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, List<String>> tablesBySequence;
+
+    // tablesBySequence: sequence table -> every table holding ids drawn from it
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, Map<String, List<String>> tablesBySequence) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tablesBySequence = tablesBySequence;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        tablesBySequence.forEach(this::align);
+    }
+
+    private void align(String sequence, List<String> tables) {
+        List<String> existing = tables.stream().filter(this::exists).toList();
+        if (existing.isEmpty()) {
+            return;
+        }
+
+        // The gap covers both pooled optimizers, which read next_val as either end of the next block.
+        // GREATEST only ever moves the sequence forward, so running this on every start is safe.
+        String maxIds = existing.stream()
+                .map(table -> "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + (ALLOCATION_SIZE + 1))
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.update("UPDATE " + sequence + " SET next_val = GREATEST(next_val, " + maxIds + ")");
+    }
+
+    private boolean exists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.quickcart.common.pricing;
+
+import java.math.BigDecimal;
+
+// Shipping and GST on top of an item total, in minor units. Always produced by PricingEngine, so the
+// checkout preview, order placement and returns arrive at the same numbers.
+public record OrderCharges(long itemTotalMinor,
+                           long shippingFeeMinor,
+                           long cgstMinor,
+                           long sgstMinor,
+                           long grandTotalMinor) {
+
+    // An empty cart: nothing to ship, nothing to tax
+    public static final OrderCharges NONE = new OrderCharges(0, 0, 0, 0, 0);
+
+    public BigDecimal itemTotal() {
+        return PricingEngine.toAmount(itemTotalMinor);
+    }
+
+    public BigDecimal shippingFee() {
+        return PricingEngine.toAmount(shippingFeeMinor);
+    }
+
+    public BigDecimal cgstAmount() {
+        return PricingEngine.toAmount(cgstMinor);
+    }
+
+    public BigDecimal sgstAmount() {
+        return PricingEngine.toAmount(sgstMinor);
+    }
+
+    public BigDecimal grandTotal() {
+        return PricingEngine.toAmount(grandTotalMinor);
+    }
+}
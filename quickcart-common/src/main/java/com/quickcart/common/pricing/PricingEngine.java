@@ -0,0 +1,64 @@
+package com.quickcart.common.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Shipping and GST rules, loaded from the shared pricing config. All arithmetic is done on long
+// minor units (paise); amounts only become BigDecimal again in OrderCharges and at the callers' edges.
+@Component
+public class PricingEngine {
+
+    private static final int SCALE = 2;
+    private static final long BASIS_POINTS = 10_000;
+
+    private final long shippingFee;
+    private final long freeShippingThreshold;
+    private final long gstBasisPoints;
+
+    public PricingEngine(@Value("${pricing.shipping-fee:90.00}") BigDecimal shippingFee,
+                         @Value("${pricing.free-shipping-threshold:0}") BigDecimal freeShippingThreshold,
+                         @Value("${pricing.gst-rate:0.18}") BigDecimal gstRate) {
+        this.shippingFee = toMinor(shippingFee);
+        // 0 means shipping is always charged
+        this.freeShippingThreshold = freeShippingThreshold.signum() > 0 ? toMinor(freeShippingThreshold) : Long.MAX_VALUE;
+        // Rates finer than 0.01% would not survive the conversion, so they fail here instead of rounding
+        this.gstBasisPoints = gstRate.movePointRight(4).longValueExact();
+    }
+
+    // GST (split evenly into CGST and SGST) applies to items and shipping alike
+    public OrderCharges price(long itemTotal) {
+        long shipping = itemTotal >= freeShippingThreshold ? 0 : shippingFee;
+        long taxableAmount = Math.addExact(itemTotal, shipping);
+        long gst = tax(taxableAmount);
+        long cgst = gst / 2;
+
+        return new OrderCharges(itemTotal, shipping, cgst, gst - cgst, Math.addExact(taxableAmount, gst));
+    }
+
+    public long lineTotal(BigDecimal unitPrice, int quantity) {
+        return Math.multiplyExact(toMinor(unitPrice), quantity);
+    }
+
+    // What returning these units gives back: the items and the GST paid on them, but not shipping
+    public long refund(BigDecimal unitPrice, int quantity) {
+        long lineTotal = lineTotal(unitPrice, quantity);
+        return Math.addExact(lineTotal, tax(lineTotal));
+    }
+
+    // Rounded half-up to the paisa
+    private long tax(long amount) {
+        return (Math.multiplyExact(amount, gstBasisPoints) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    // setScale is a no-op for prices already stored with two decimals, so this allocates one BigDecimal
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
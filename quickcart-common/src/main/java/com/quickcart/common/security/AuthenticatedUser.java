@@ -0,0 +1,68 @@
+package com.quickcart.common.security;
+
+import com.quickcart.common.dto.UserDto;
+import com.quickcart.common.exception.ValidationException;
+import lombok.Getter;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.function.Function;
+
+// Principal built from JWT claims so services can resolve the caller without calling user-service
+@Getter
+public class AuthenticatedUser implements Principal {
+
+    private final Long userId;
+    private final String email;
+    private final List<String> roles;
+
+    public AuthenticatedUser(Long userId, String email, List<String> roles) {
+        this.userId = userId;
+        this.email = email;
+        this.roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new AccessDeniedException("Unauthenticated");
+        }
+        return user;
+    }
+
+    // The caller's id from the token. Tokens issued before the userId claim was added need a lookup;
+    // they expire after jwt.expiration (24h), after which the fallback can go.
+    public Long resolveUserId(Function<String, UserDto> lookupByEmail) {
+        if (userId != null) {
+            return userId;
+        }
+
+        UserDto user = lookupByEmail.apply(email);
+        if (user == null) {
+            throw new ValidationException("User not found for email: " + email);
+        }
+        return user.getId();
+    }
+
+    // Keeps SpEL expressions like "principal.username" working
+    public String getUsername() {
+        return email;
+    }
+
+    public boolean isAdmin() {
+        return roles.contains("ROLE_ADMIN");
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
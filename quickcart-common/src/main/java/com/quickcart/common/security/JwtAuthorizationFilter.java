@@ -31,21 +31,20 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractUsername(token);
-
-                // Extract roles directly from token
-                var authorities = jwtUtil.extractRoles(token).stream()
+            // Single parse and signature check per token; roles come straight from the verified claims
+            jwtUtil.verify(token).ifPresent(verified -> {
+                AuthenticatedUser principal = verified.user();
+                var authorities = principal.getRoles().stream()
                         .map(SimpleGrantedAuthority::new)
                         .toList();
 
                 // Build Authentication without depending on UserService
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, token, authorities);
+                        new UsernamePasswordAuthenticationToken(principal, token, authorities);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            });
         }
 
         filterChain.doFilter(request, response);
@@ -1,31 +1,54 @@
 package com.quickcart.common.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final String secret;
+    private final long expiration;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    // Verified tokens keyed by SHA-256 digest, so raw tokens are never held in memory
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.secret = secret;
+        this.expiration = expiration;
+        this.verifiedTokens = cacheMaxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(Expiry.creating((String digest, VerifiedToken verified) -> timeToLive(verified)))
+                        .build()
+                : null;
+    }
 
     // Generate token for user
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UserDetails userDetails, Long userId) {
         Map<String, Object> claims = new HashMap<>();
 //        claims.put("roles", userDetails.getAuthorities());
         List<String> roles = userDetails.getAuthorities()
@@ -33,6 +56,7 @@ public class JwtUtil {
                 .map(GrantedAuthority::getAuthority)   // -> "ROLE_ADMIN"
                 .toList();
         claims.put("roles", roles);
+        claims.put("userId", userId);
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -70,21 +94,72 @@ public class JwtUtil {
 
     // Validate the token
     public Boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    // Parse and check the signature once; repeat calls with the same token are served from cache until it expires
+    public Optional<VerifiedToken> verify(String token) {
+        String digest = verifiedTokens != null ? digest(token) : null;
+        if (digest != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null) {
+                return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+            }
+        }
+
+        VerifiedToken verified;
         try {
-            Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            verified = toVerifiedToken(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (digest != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return Optional.of(verified);
+    }
+
+    @SuppressWarnings("unchecked")
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        AuthenticatedUser user = new AuthenticatedUser(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("roles", List.class));
+        Date expiresAt = claims.getExpiration();
+        return new VerifiedToken(user, expiresAt != null ? expiresAt.toInstant() : null);
+    }
+
+    // Cache entries never outlive the token, nor the configured token lifetime
+    private Duration timeToLive(VerifiedToken verified) {
+        Duration maxLifetime = Duration.ofMillis(expiration);
+        if (verified.expiresAt() == null) {
+            return maxLifetime;
+        }
+        Duration remaining = Duration.between(Instant.now(), verified.expiresAt());
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(maxLifetime) < 0 ? remaining : maxLifetime;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
     // Extract username from token
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return extractAllClaims(token).getSubject();
+    }
+
+    // Extract user id from token (null for tokens issued before the claim existed)
+    public Long extractUserId(String token) {
+        return extractAllClaims(token).get("userId", Long.class);
     }
 
     // Extract roles from token
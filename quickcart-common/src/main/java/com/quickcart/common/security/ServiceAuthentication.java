@@ -0,0 +1,59 @@
+package com.quickcart.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// Lets background jobs call other services: runs the task with a freshly signed token, either for
+// this service itself or on behalf of a user, which FeignClientConfig forwards like any other
+@Component
+public class ServiceAuthentication {
+
+    public static final String SERVICE_ROLE = "ROLE_SERVICE";
+
+    private final JwtUtil jwtUtil;
+    private final String serviceName;
+
+    public ServiceAuthentication(JwtUtil jwtUtil,
+                                 @Value("${spring.application.name:quickcart-service}") String serviceName) {
+        this.jwtUtil = jwtUtil;
+        this.serviceName = serviceName;
+    }
+
+    public <T> T callAsService(Supplier<T> task) {
+        return callAsUser(new AuthenticatedUser(null, serviceName, List.of(SERVICE_ROLE)), task);
+    }
+
+    // For work a user asked for earlier, e.g. a queued order, carried out after their request ended
+    public <T> T callAsUser(AuthenticatedUser user, Supplier<T> task) {
+        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        String token = jwtUtil.generateToken(
+                User.withUsername(user.getEmail()).password("N/A").authorities(authorities).build(), user.getUserId());
+
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(user, token, authorities));
+        SecurityContextHolder.setContext(context);
+        try {
+            return task.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    public void runAsService(Runnable task) {
+        callAsService(() -> {
+            task.run();
+            return null;
+        });
+    }
+}
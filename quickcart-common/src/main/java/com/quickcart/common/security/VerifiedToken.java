@@ -0,0 +1,11 @@
+package com.quickcart.common.security;
+
+import java.time.Instant;
+
+// Result of a successful signature check; immutable so it can be shared from the token cache
+public record VerifiedToken(AuthenticatedUser user, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && !Instant.now().isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,93 @@
+package com.quickcart.common.pricing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Pricing a whole order against its line count, in long minor units versus the BigDecimal chain the
+// cart and order services used before. Add -prof gc to compare allocations per order as well.
+// Run with: mvn test-compile, then execute main() with the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingEngineBenchmark {
+
+    private static final BigDecimal SHIPPING_FEE = new BigDecimal("90.00");
+    private static final BigDecimal GST_RATE = new BigDecimal("0.18");
+    private static final BigDecimal TWO = new BigDecimal("2");
+
+    @Param({"10", "100", "1000"})
+    public int lineCount;
+
+    private PricingEngine pricingEngine;
+    private BigDecimal[] prices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        pricingEngine = new PricingEngine(SHIPPING_FEE, BigDecimal.ZERO, GST_RATE);
+
+        Random random = new Random(42);
+        prices = new BigDecimal[lineCount];
+        quantities = new int[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            prices[i] = BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+            quantities[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public OrderCharges minorUnits() {
+        long itemTotal = 0;
+        for (int i = 0; i < lineCount; i++) {
+            itemTotal = Math.addExact(itemTotal, pricingEngine.lineTotal(prices[i], quantities[i]));
+        }
+        return pricingEngine.price(itemTotal);
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimalChain() {
+        BigDecimal itemTotal = BigDecimal.ZERO;
+        for (int i = 0; i < lineCount; i++) {
+            itemTotal = itemTotal.add(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+
+        BigDecimal taxableAmount = itemTotal.add(SHIPPING_FEE);
+        BigDecimal gst = taxableAmount.multiply(GST_RATE);
+        return new BigDecimal[]{itemTotal, SHIPPING_FEE, gst.divide(TWO), gst.divide(TWO), taxableAmount.add(gst)};
+    }
+
+    // Refunds are priced per returned line
+    @Benchmark
+    public long refunds() {
+        long total = 0;
+        for (int i = 0; i < lineCount; i++) {
+            total += pricingEngine.refund(prices[i], quantities[i]);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PricingEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.quickcart.common.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.lang.reflect.Proxy;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// Cost of authenticating one request through JwtAuthorizationFilter.
+// Run with: mvn test-compile, then execute main() with the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthorizationFilterBenchmark {
+
+    // 0 disables the verified-token cache, so every request pays for parsing and the signature check
+    @Param({"0", "10000"})
+    public long cacheMaxSize;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthorizationFilter filter;
+    private String token;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(key), TimeUnit.HOURS.toMillis(1), cacheMaxSize);
+        filter = new JwtAuthorizationFilter(jwtUtil);
+        token = jwtUtil.generateToken(
+                User.withUsername("bench@quickcart.com").password("unused").roles("USER").build(), 42L);
+
+        request = stub(HttpServletRequest.class, "Bearer " + token);
+        response = stub(HttpServletResponse.class, null);
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // What the filter used to do: validate, then parse again for subject, roles and userId
+    @Benchmark
+    public void separateParsesPerClaim(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.extractExpiration(token));
+        blackhole.consume(jwtUtil.extractUsername(token));
+        blackhole.consume(jwtUtil.extractRoles(token));
+        blackhole.consume(jwtUtil.extractUserId(token));
+    }
+
+    // Minimal servlet stand-ins: only the Authorization header matters to the filter
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String authorizationHeader) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("getHeader") && "Authorization".equals(args[0])) {
+                return authorizationHeader;
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            return null;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthorizationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
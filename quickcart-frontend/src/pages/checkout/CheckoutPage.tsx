@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useMemo } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useCart } from '../../contexts/CartContext';
 import { useAuth } from '../../contexts/AuthContext';
@@ -6,6 +6,7 @@ import Navbar from '../../components/ui/Navbar';
 import Button from '../../components/ui/Button';
 import addressService, { Address } from '../../services/addressService';
 import orderService, { PlaceOrderRequest } from '../../services/orderService';
+import cartService, { CheckoutPreview } from '../../services/cartService';
 
 export default function CheckoutPage() {
   const { cart, isLoading: cartLoading, clearCart } = useCart();
@@ -18,6 +19,10 @@ export default function CheckoutPage() {
   const [isLoading, setIsLoading] = useState(false);
   const [isSubmitting, setIsSubmitting] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  const [preview, setPreview] = useState<CheckoutPreview | null>(null);
+
+  // One key per distinct order attempt: double clicks and retries reuse it, changed choices get a new one
+  const idempotencyKey = useMemo(() => crypto.randomUUID(), [selectedAddressId, paymentMethod]);
   
   useEffect(() => {
     // Redirect to login if not authenticated
@@ -54,6 +59,17 @@ export default function CheckoutPage() {
     }
   }, [user, navigate, cartLoading]);
 
+  // Totals come from the server so they match what the order will be charged
+  useEffect(() => {
+    if (!user || cartLoading) {
+      return;
+    }
+
+    cartService.getCheckoutPreview()
+      .then(setPreview)
+      .catch(err => console.error('Failed to fetch checkout preview:', err));
+  }, [user, cart, cartLoading]);
+
   const formatPrice = (price: number) => {
     if (isNaN(price) || price === null || price === undefined) return "₹0.00";
     return new Intl.NumberFormat('en-IN', {
@@ -63,11 +79,11 @@ export default function CheckoutPage() {
     }).format(price);
   };
 
-  // Calculate cart totals with safety checks
-  const subtotal = cart?.totalPrice || 0;
-  const shipping = cart?.items?.length > 0 ? 90 : 0;
-  const tax = subtotal * 0.18;
-  const total = subtotal + shipping + tax;
+  // Server totals; zeros until the preview has loaded
+  const subtotal = preview?.itemTotal ?? 0;
+  const shipping = preview?.shippingFee ?? 0;
+  const tax = (preview?.cgstAmount ?? 0) + (preview?.sgstAmount ?? 0);
+  const total = preview?.grandTotal ?? 0;
 
   const handlePlaceOrder = async () => {
     if (!selectedAddressId) {
@@ -85,7 +101,7 @@ export default function CheckoutPage() {
         paymentMethod: paymentMethod
       };
       
-      const order = await orderService.placeOrder(orderRequest);
+      const order = await orderService.placeOrder(orderRequest, idempotencyKey);
       console.log('Order placed successfully:', order);
       
       await clearCart();
@@ -260,7 +276,7 @@ export default function CheckoutPage() {
                 <Button
                   onClick={handlePlaceOrder}
                   className="w-full py-3"
-                  disabled={isSubmitting || !selectedAddressId || addresses.length === 0}
+                  disabled={isSubmitting || !selectedAddressId || addresses.length === 0 || (preview !== null && !preview.checkoutReady)}
                 >
                   {isSubmitting ? 'Processing...' : 'Place Order'}
                 </Button>
@@ -14,6 +14,15 @@ export interface Cart {
   totalPrice: number;
 }
 
+export interface CheckoutPreview {
+  itemTotal: number;
+  shippingFee: number;
+  cgstAmount: number;
+  sgstAmount: number;
+  grandTotal: number;
+  checkoutReady: boolean;
+}
+
 const cartService = {
   /**
    * Fetch the user's cart from the backend
@@ -47,8 +56,8 @@ const cartService = {
             description: item.productDescription || '',
             category: item.productCategory || '',
             imageUrl: item.productImageUrl || '/placeholder-product.jpg',
-            stockQuantity: item.productStock || 0,
-            isActive: item.isActive ?? true,
+            stockQuantity: item.availableStock ?? item.productStock ?? 0,
+            isActive: item.stockStatus ? item.stockStatus !== 'UNAVAILABLE' : (item.isActive ?? true),
             gender: item.gender || 'OTHER'
           };
           
@@ -81,6 +90,19 @@ const cartService = {
     }
   },
 
+  /**
+   * Fetch server-computed totals (shipping and GST included) for the current cart
+   */
+  getCheckoutPreview: async (): Promise<CheckoutPreview> => {
+    try {
+      const response = await apiClient.get('/cart/checkout-preview');
+      return response.data;
+    } catch (error: any) {
+      console.error('Failed to fetch checkout preview:', error);
+      throw new Error(error.response?.data?.message || 'Failed to load order summary');
+    }
+  },
+
   /**
    * Add an item to the user's cart
    */
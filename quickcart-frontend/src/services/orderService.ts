@@ -72,10 +72,13 @@ export interface PlaceOrderRequest {
 }
 
 const orderService = {
-  placeOrder: async (request: PlaceOrderRequest): Promise<Order> => {
+  // Reusing the same idempotencyKey on a retry returns the original order instead of placing a second one
+  placeOrder: async (request: PlaceOrderRequest, idempotencyKey?: string): Promise<Order> => {
     try {
       console.log('Placing order with data:', request);
-      const response = await apiClient.post('/orders', request);
+      const response = await apiClient.post('/orders', request, {
+        headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined
+      });
       return response.data;
     } catch (error) {
       console.error('Error placing order:', error);
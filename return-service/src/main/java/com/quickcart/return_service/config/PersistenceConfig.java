@@ -0,0 +1,20 @@
+package com.quickcart.return_service.config;
+
+import com.quickcart.common.persistence.IdSequenceAligner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public IdSequenceAligner idSequenceAligner(JdbcTemplate jdbcTemplate) {
+        return new IdSequenceAligner(jdbcTemplate, Map.of(
+                "return_requests_seq", List.of("return_requests"),
+                "return_items_seq", List.of("return_items")));
+    }
+}
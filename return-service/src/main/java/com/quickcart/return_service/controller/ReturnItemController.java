@@ -1,12 +1,11 @@
 package com.quickcart.return_service.controller;
 
-import com.quickcart.common.dto.UserDto;
 import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.return_service.dto.response.ReturnItemResponse;
 import com.quickcart.return_service.feign.UserClient;
 import com.quickcart.return_service.service.ReturnItemService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,25 +23,19 @@ public class ReturnItemController {
     private final UserClient userClient;
 
     @GetMapping("/return-request/{returnRequestId}")
-    public List<ReturnItemResponse> getReturnItems(Authentication authentication, @PathVariable Long returnRequestId) {
-        if (authentication == null || authentication.getName() == null) {
+    public List<ReturnItemResponse> getReturnItems(@AuthenticationPrincipal AuthenticatedUser currentUser, @PathVariable Long returnRequestId) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
-
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        return returnItemService.getReturnItems(returnRequestId, currentUser.getId());
+        return returnItemService.getReturnItems(returnRequestId, currentUser.resolveUserId(userClient::getUserByEmail), currentUser.isAdmin());
     }
 
 
     @GetMapping("/return-request/{returnRequestId}/refund-total")
-    public BigDecimal getRefundTotal(Authentication authentication, @PathVariable Long returnRequestId) {
-        if (authentication == null || authentication.getName() == null) {
+    public BigDecimal getRefundTotal(@AuthenticationPrincipal AuthenticatedUser currentUser, @PathVariable Long returnRequestId) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
-
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        return returnItemService.calculateTotalRefundAmount(returnRequestId, currentUser.getId());
+        return returnItemService.calculateTotalRefundAmount(returnRequestId, currentUser.resolveUserId(userClient::getUserByEmail), currentUser.isAdmin());
     }
 }
@@ -1,7 +1,7 @@
 package com.quickcart.return_service.controller;
 
-import com.quickcart.common.dto.UserDto;
 import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.return_service.dto.request.CreateReturnRequest;
 import com.quickcart.return_service.dto.response.ReturnRequestResponse;
 import com.quickcart.return_service.feign.UserClient;
@@ -12,7 +12,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,16 +26,13 @@ public class ReturnRequestController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ReturnRequestResponse createReturn(Authentication authentication,
+    public ReturnRequestResponse createReturn(@AuthenticationPrincipal AuthenticatedUser currentUser,
                                               @Valid @RequestBody CreateReturnRequest request) {
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-
-        return returnRequestService.createReturn(request, currentUser.getId());
+        return returnRequestService.createReturn(request, currentUser.resolveUserId(userClient::getUserByEmail));
     }
 
     @GetMapping("/admin")
@@ -51,14 +48,11 @@ public class ReturnRequestController {
     }
 
     @GetMapping("/user")
-    public List<ReturnRequestResponse> getUserReturns(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
+    public List<ReturnRequestResponse> getUserReturns(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
-
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        return returnRequestService.getReturnsByUserId(currentUser.getId());
+        return returnRequestService.getReturnsByUserId(currentUser.resolveUserId(userClient::getUserByEmail));
     }
 
     @PatchMapping("/{returnId}/approve")
@@ -68,29 +62,24 @@ public class ReturnRequestController {
     }
 
     @PatchMapping("/{returnId}/cancel")
-    public void cancelReturn(Authentication authentication, @PathVariable Long returnId) {
-        if (authentication == null || authentication.getName() == null) {
+    public void cancelReturn(@AuthenticationPrincipal AuthenticatedUser currentUser, @PathVariable Long returnId) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
-
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        returnRequestService.cancelReturn(returnId, currentUser.getId());
+        returnRequestService.cancelReturn(returnId, currentUser.resolveUserId(userClient::getUserByEmail));
     }
 
     @GetMapping("/{returnId}")
-    public ReturnRequestResponse getReturn(Authentication authentication,
+    public ReturnRequestResponse getReturn(@AuthenticationPrincipal AuthenticatedUser currentUser,
                                            @PathVariable Long returnId,
                                            @RequestParam(required = false) Long targetUserId) {
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-
-        Long effectiveUserId = (targetUserId != null && currentUser.getUserRole() == UserDto.UserRole.ADMIN) ? targetUserId : currentUser.getId();
-        return returnRequestService.getReturnDetails(returnId, currentUser.getId(), effectiveUserId);
+        boolean isAdmin = currentUser.isAdmin();
+        Long effectiveUserId = (targetUserId != null && isAdmin) ? targetUserId : currentUser.resolveUserId(userClient::getUserByEmail);
+        return returnRequestService.getReturnDetails(returnId, isAdmin, effectiveUserId);
     }
 
     @PatchMapping("/{returnId}/status")
@@ -105,19 +94,17 @@ public class ReturnRequestController {
 
     @GetMapping
     public List<ReturnRequestResponse> getReturnsByOrderId(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @RequestParam(required = false) Long orderId) {
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
         if (orderId != null) {
-            return returnRequestService.getReturnsByOrderId(orderId, currentUser.getId());
+            return returnRequestService.getReturnsByOrderId(orderId, userId);
         } else {
-            return returnRequestService.getReturnsByUserId(currentUser.getId());
+            return returnRequestService.getReturnsByUserId(userId);
         }
     }
-}
\ No newline at end of file
+}
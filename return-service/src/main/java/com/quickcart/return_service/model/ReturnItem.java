@@ -1,5 +1,6 @@
 package com.quickcart.return_service.model;
 
+import com.quickcart.common.persistence.IdSequenceAligner;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.math.BigDecimal;
@@ -9,7 +10,8 @@ import java.math.BigDecimal;
 @Table(name = "return_items")
 public class ReturnItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "return_items_seq")
+    @SequenceGenerator(name = "return_items_seq", sequenceName = "return_items_seq", allocationSize = IdSequenceAligner.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.quickcart.return_service.model;
 
+import com.quickcart.common.persistence.IdSequenceAligner;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -28,7 +29,8 @@ public class ReturnRequest {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "return_requests_seq")
+    @SequenceGenerator(name = "return_requests_seq", sequenceName = "return_requests_seq", allocationSize = IdSequenceAligner.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
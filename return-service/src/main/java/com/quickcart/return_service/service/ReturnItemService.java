@@ -1,9 +1,7 @@
 package com.quickcart.return_service.service;
 
-import com.quickcart.common.dto.UserDto;
 import com.quickcart.common.exception.ValidationException;
 import com.quickcart.return_service.dto.response.ReturnItemResponse;
-import com.quickcart.return_service.feign.UserClient;
 import com.quickcart.return_service.mapper.ReturnItemMapper;
 import com.quickcart.return_service.model.ReturnItem;
 import com.quickcart.return_service.model.ReturnRequest;
@@ -22,14 +20,12 @@ public class ReturnItemService {
     private final ReturnItemRepository returnItemRepository;
     private final ReturnItemMapper returnItemMapper;
     private final ReturnRequestRepository returnRequestRepository;
-    private final UserClient userClient;
 
-    public List<ReturnItemResponse> getReturnItems(Long returnRequestId, Long userId) {
+    public List<ReturnItemResponse> getReturnItems(Long returnRequestId, Long userId, boolean isAdmin) {
         ReturnRequest returnRequest = returnRequestRepository.findById(returnRequestId)
                 .orElseThrow(() -> new ValidationException("Return request not found"));
 
-        UserDto currentUser = userClient.getUserById(userId);
-        if (!returnRequest.getUserId().equals(userId)  && currentUser.getUserRole() != UserDto.UserRole.ADMIN) {
+        if (!returnRequest.getUserId().equals(userId) && !isAdmin) {
             throw new ValidationException("Access denied");
         }
 
@@ -39,12 +35,11 @@ public class ReturnItemService {
                 .collect(Collectors.toList());
     }
 
-    public BigDecimal calculateTotalRefundAmount(Long returnRequestId, Long userId) {
+    public BigDecimal calculateTotalRefundAmount(Long returnRequestId, Long userId, boolean isAdmin) {
         ReturnRequest returnRequest = returnRequestRepository.findById(returnRequestId)
                 .orElseThrow(() -> new ValidationException("Return request not found"));
 
-        UserDto currentUser = userClient.getUserById(userId);
-        if (!returnRequest.getUserId().equals(userId)  && currentUser.getUserRole() != UserDto.UserRole.ADMIN) {
+        if (!returnRequest.getUserId().equals(userId) && !isAdmin) {
             throw new ValidationException("Access denied");
         }
 
@@ -4,6 +4,7 @@ import com.quickcart.common.dto.OrderDto;
 import com.quickcart.common.dto.OrderItemDto;
 import com.quickcart.common.dto.UserDto;
 import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.pricing.PricingEngine;
 import com.quickcart.return_service.dto.request.CreateReturnRequest;
 import com.quickcart.return_service.dto.request.ReturnItemRequest;
 import com.quickcart.return_service.dto.response.ReturnRequestResponse;
@@ -20,7 +21,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -34,6 +34,7 @@ public class ReturnRequestService {
     private final OrderClient orderClient;
     private final ProductClient productClient;
     private final UserClient userClient;
+    private final PricingEngine pricingEngine;
 
     @Transactional
     public ReturnRequestResponse createReturn(CreateReturnRequest request, Long userId) {
@@ -41,11 +42,9 @@ public class ReturnRequestService {
         validateReturnEligibility(order.getId(), userId);
         validateNoExistingReturn(order);
 
-        UserDto user = userClient.getUserById(userId);
-
         ReturnRequest returnRequest = new ReturnRequest();
         returnRequest.setOrderId(order.getId());
-        returnRequest.setUserId(user.getId());
+        returnRequest.setUserId(userId);
         returnRequest.setStatus(ReturnRequest.Status.REQUESTED);
         returnRequest.setType(request.getType());
         returnRequest.setReason(request.getReason());
@@ -88,12 +87,11 @@ public class ReturnRequestService {
     }
 
     @Transactional(readOnly = true)
-    public ReturnRequestResponse getReturnDetails(Long returnId, Long requesterUserId, Long effectiveUserId) {
+    public ReturnRequestResponse getReturnDetails(Long returnId, boolean requesterIsAdmin, Long effectiveUserId) {
         ReturnRequest returnRequest = returnRequestRepository.findById(returnId)
                 .orElseThrow(() -> new ValidationException("Return not found"));
 
-        UserDto requester = userClient.getUserById(requesterUserId);
-        if (!returnRequest.getUserId().equals(effectiveUserId)  && requester.getUserRole() != UserDto.UserRole.ADMIN) {
+        if (!returnRequest.getUserId().equals(effectiveUserId) && !requesterIsAdmin) {
             throw new ValidationException("Access denied");
         }
 
@@ -236,11 +234,7 @@ public class ReturnRequestService {
             returnItem.setReturnRequest(returnRequest);
             returnItem.setOrderItemId(orderItem.getId());
             returnItem.setQuantity(remainingQty);
-            returnItem.setRefundAmount(
-                    orderItem.getPrice()
-                            .multiply(BigDecimal.valueOf(remainingQty))
-                            .multiply(new BigDecimal("1.18"))
-            );
+            returnItem.setRefundAmount(PricingEngine.toAmount(pricingEngine.refund(orderItem.getPrice(), remainingQty)));
             returnRequest.getReturnItems().add(returnItem);
         });
     }
@@ -256,11 +250,7 @@ public class ReturnRequestService {
             returnItem.setReturnRequest(returnRequest);
             returnItem.setOrderItemId(orderItem.getId());
             returnItem.setQuantity(item.getQuantity());
-            returnItem.setRefundAmount(
-                    orderItem.getPrice()
-                            .multiply(BigDecimal.valueOf(item.getQuantity()))
-                            .multiply(new BigDecimal("1.18")) // GST
-            );
+            returnItem.setRefundAmount(PricingEngine.toAmount(pricingEngine.refund(orderItem.getPrice(), item.getQuantity())));
             returnRequest.getReturnItems().add(returnItem);
         });
     }
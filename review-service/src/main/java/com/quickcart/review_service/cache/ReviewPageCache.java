@@ -0,0 +1,97 @@
+package com.quickcart.review_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.quickcart.review_service.dto.response.ReviewResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+public class ReviewPageCache {
+
+    private static final String CACHE_NAME = "review.pages";
+
+    // page == UNPAGED marks the legacy "all reviews" listing
+    public static final int UNPAGED = -1;
+
+    private final Cache<ReviewPageKey, List<ReviewResponse>> cache;
+
+    // The cached keys of each product, so a review write evicts only that product's pages. Each set is
+    // only changed inside a compute on this map.
+    private final ConcurrentMap<Long, Set<ReviewPageKey>> keysByProduct = new ConcurrentHashMap<>();
+
+    public ReviewPageCache(MeterRegistry meterRegistry,
+                           @Value("${review.cache.max-size:10000}") long maxSize,
+                           @Value("${review.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                // Size and expiry evictions; runs atomically with the removal, before the key can be cached again
+                .evictionListener((ReviewPageKey key, List<ReviewResponse> value, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Hit ratio of the per-product review page cache")
+                .register(meterRegistry);
+    }
+
+    public List<ReviewResponse> get(Long productId, int page, int size, Supplier<List<ReviewResponse>> loader) {
+        return cache.get(new ReviewPageKey(productId, page, size), key -> {
+            List<ReviewResponse> loaded = loader.get();
+            // Indexed before the entry is published, so an eviction either sees it or runs before it exists
+            keysByProduct.compute(productId, (id, keys) -> {
+                Set<ReviewPageKey> indexed = keys != null ? keys : new HashSet<>();
+                indexed.add(key);
+                return indexed;
+            });
+            return loaded;
+        });
+    }
+
+    // Evict now, and once more after commit so a concurrent reader cannot re-cache pre-commit rows
+    public void evictProduct(Long productId) {
+        evictNow(productId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(productId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long productId) {
+        Set<ReviewPageKey> keys = keysByProduct.remove(productId);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    private void unindex(ReviewPageKey key) {
+        keysByProduct.computeIfPresent(key.productId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record ReviewPageKey(Long productId, int page, int size) {
+    }
+}
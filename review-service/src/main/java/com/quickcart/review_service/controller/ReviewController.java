@@ -38,8 +38,14 @@ public class ReviewController {
     }
 
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByProductId(@PathVariable Long productId) {
-        return ResponseEntity.ok(reviewService.getReviewsByProductId(productId));
+    public ResponseEntity<List<ReviewResponse>> getReviewsByProductId(
+            @PathVariable Long productId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "10") int size) {
+        if (page == null) {
+            return ResponseEntity.ok(reviewService.getReviewsByProductId(productId));
+        }
+        return ResponseEntity.ok(reviewService.getReviewsByProductId(productId, page, size));
     }
 
     @GetMapping("/my-reviews")
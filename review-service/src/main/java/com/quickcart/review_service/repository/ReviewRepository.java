@@ -2,6 +2,7 @@ package com.quickcart.review_service.repository;
 
 
 import com.quickcart.review_service.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -14,6 +15,8 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     List<Review> findByProductIdAndDeletedFalseOrderByCreatedAtDesc(Long productId);
 
+    List<Review> findByProductIdAndDeletedFalseOrderByCreatedAtDesc(Long productId, Pageable pageable);
+
     List<Review> findByUserIdAndDeletedFalseOrderByCreatedAtDesc(Long userId);
 
     Optional<Review> findByUserIdAndProductIdAndDeletedFalse(Long userId, Long productId);
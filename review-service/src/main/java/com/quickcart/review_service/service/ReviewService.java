@@ -1,9 +1,10 @@
 package com.quickcart.review_service.service;
 
 import com.quickcart.common.dto.ProductDto;
-import com.quickcart.common.dto.UserDto;
 import com.quickcart.common.exception.ValidationException;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.review_service.dto.request.ReviewRequest;
+import com.quickcart.review_service.cache.ReviewPageCache;
 import com.quickcart.review_service.dto.response.ReviewResponse;
 import com.quickcart.review_service.kafka.ReviewKafkaProducer;
 import com.quickcart.review_service.mapper.ReviewMapper;
@@ -14,8 +15,7 @@ import com.quickcart.review_service.feign.ProductClient;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,18 +33,11 @@ public class ReviewService {
     private final UserClient userClient;
     private final ProductClient productClient;
     private final ReviewKafkaProducer reviewKafkaProducer;
+    private final ReviewPageCache reviewPageCache;
 
 
-    private Long getCurrentUserId() throws AccessDeniedException {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-
-        UserDto user = userClient.getUserByEmail(email);
-        if (user == null) {
-            throw new ValidationException("User not found for email: " + email);
-        }
-
-        return user.getId();
+    private Long getCurrentUserId() {
+        return AuthenticatedUser.current().resolveUserId(userClient::getUserByEmail);
     }
 
     @Transactional
@@ -68,6 +61,7 @@ public class ReviewService {
 
         // Save first
         Review savedReview = reviewRepository.save(review);
+        reviewPageCache.evictProduct(savedReview.getProductId());
 
         // Emit Kafka event
         reviewKafkaProducer.sendReviewEvent("Review created by userId: " + userId + " for productId: " + request.getProductId());
@@ -92,6 +86,7 @@ public class ReviewService {
 
         // Save first
         Review savedReview = reviewRepository.save(review);
+        reviewPageCache.evictProduct(savedReview.getProductId());
 
         // Emit Kafka event
         reviewKafkaProducer.sendReviewEvent("Review updated for reviewId: " + reviewId);
@@ -113,15 +108,29 @@ public class ReviewService {
 
         review.setDeleted(true);
         reviewRepository.save(review);
+        reviewPageCache.evictProduct(review.getProductId());
 
         reviewKafkaProducer.sendReviewEvent("Review deleted with reviewId: " + reviewId);
     }
 
     @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsByProductId(Long productId) {
-        return reviewRepository.findByProductIdAndDeletedFalseOrderByCreatedAtDesc(productId).stream()
-                .map(reviewMapper::toResponse)
-                .toList();
+        return reviewPageCache.get(productId, ReviewPageCache.UNPAGED, 0, () ->
+                reviewRepository.findByProductIdAndDeletedFalseOrderByCreatedAtDesc(productId).stream()
+                        .map(reviewMapper::toResponse)
+                        .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReviewResponse> getReviewsByProductId(Long productId, int page, int size) {
+        if (page < 0 || size <= 0 || size > 100) {
+            throw new ValidationException("Page must be >= 0 and size between 1 and 100");
+        }
+
+        return reviewPageCache.get(productId, page, size, () ->
+                reviewRepository.findByProductIdAndDeletedFalseOrderByCreatedAtDesc(productId, PageRequest.of(page, size)).stream()
+                        .map(reviewMapper::toResponse)
+                        .toList());
     }
 
     @Transactional(readOnly = true)
@@ -148,6 +157,8 @@ public class ReviewService {
                 .orElseThrow(() -> new ValidationException("Review not found"));
 
         review.setApproved(true);
-        return reviewMapper.toResponse(reviewRepository.save(review));
+        Review savedReview = reviewRepository.save(review);
+        reviewPageCache.evictProduct(savedReview.getProductId());
+        return reviewMapper.toResponse(savedReview);
     }
 }
@@ -1,5 +1,6 @@
 package com.quickcart.user_service.controller;
 
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.user_service.dto.request.PasswordChangeRequest;
 import com.quickcart.user_service.dto.request.UserRequest;
 import com.quickcart.user_service.dto.request.UserUpdate;
@@ -36,11 +37,11 @@ public class UserController {
 //    }
 
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal String email) {
-        if (email == null) {
+    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        UserResponse userResponse = userService.getByEmail(email);
+        UserResponse userResponse = userService.getByEmail(principal.getEmail());
         return ResponseEntity.ok(userResponse);
     }
 
@@ -97,9 +98,9 @@ public class UserController {
 
     @PostMapping("/change-password")
     public ResponseEntity<Map<String, String>> changePassword(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody PasswordChangeRequest request) {
-        userService.changePassword(user.getEmail(), request.getCurrentPassword(), request.getNewPassword());
+        userService.changePassword(principal.getEmail(), request.getCurrentPassword(), request.getNewPassword());
         return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
     }
 }
\ No newline at end of file
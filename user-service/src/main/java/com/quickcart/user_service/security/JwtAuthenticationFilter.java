@@ -3,6 +3,7 @@ package com.quickcart.user_service.security;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quickcart.common.security.JwtUtil;
 import com.quickcart.user_service.dto.request.LoginRequest;
+import com.quickcart.user_service.model.User;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -57,8 +58,9 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         UserDetails userDetails = (UserDetails) authResult.getPrincipal();
         String email = userDetails.getUsername();
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(userDetails);
+        // Generate JWT token, carrying the user id so other services can skip the lookup
+        Long userId = userDetails instanceof User user ? user.getId() : null;
+        String token = jwtUtil.generateToken(userDetails, userId);
 
         // Add token to response header
         response.addHeader("Authorization", "Bearer " + token);
@@ -1,13 +1,12 @@
 package com.quickcart.wishlist_service.controller;
 
-import com.quickcart.common.dto.UserDto;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.common.exception.ValidationException;
 import com.quickcart.wishlist_service.dto.response.WishlistResponse;
 import com.quickcart.wishlist_service.feign.UserClient;
 import com.quickcart.wishlist_service.service.WishlistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,26 +21,24 @@ public class WishlistController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<WishlistResponse> getWishlist(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
+    public ResponseEntity<WishlistResponse> getWishlist(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        WishlistResponse wishlist = wishlistService.getWishlistResponse(currentUser.getId());
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
+        WishlistResponse wishlist = wishlistService.getWishlistResponse(userId);
         return ResponseEntity.ok(wishlist);
     }
 
     @DeleteMapping
-    public ResponseEntity<Void> clearWishlist(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
+    public ResponseEntity<Void> clearWishlist(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        wishlistService.deleteWishlist(currentUser.getId());
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
+        wishlistService.deleteWishlist(userId);
         return ResponseEntity.noContent().build();
     }
 }
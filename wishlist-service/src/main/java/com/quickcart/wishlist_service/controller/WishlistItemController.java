@@ -1,7 +1,7 @@
 package com.quickcart.wishlist_service.controller;
 
 import com.quickcart.common.dto.CartItemRequest;
-import com.quickcart.common.dto.UserDto;
+import com.quickcart.common.security.AuthenticatedUser;
 import com.quickcart.wishlist_service.dto.request.WishlistItemRequest;
 import com.quickcart.wishlist_service.dto.response.WishlistItemResponse;
 import com.quickcart.wishlist_service.feign.CartClient;
@@ -12,7 +12,7 @@ import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,75 +28,70 @@ public class WishlistItemController {
 
     @PostMapping
     public ResponseEntity<WishlistItemResponse> addToWishlist(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @Valid @RequestBody WishlistItemRequest request) {
 
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        WishlistItemResponse response = wishlistItemService.addToWishlist(currentUser.getId(), request);
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
+        WishlistItemResponse response = wishlistItemService.addToWishlist(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> removeFromWishlist(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @PathVariable Long id) {
 
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
 
-        wishlistItemService.removeFromWishlist(currentUser.getId(), id);
+        wishlistItemService.removeFromWishlist(userId, id);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
-    public ResponseEntity<List<WishlistItemResponse>> getWishlistItems(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
+    public ResponseEntity<List<WishlistItemResponse>> getWishlistItems(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        List<WishlistItemResponse> items = wishlistItemService.getWishlistItems(currentUser.getId());
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
+        List<WishlistItemResponse> items = wishlistItemService.getWishlistItems(userId);
         return ResponseEntity.ok(items);
     }
 
     @GetMapping("/check/{productId}")
     public ResponseEntity<Boolean> isProductInWishlist(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @PathVariable Long productId) {
 
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
-        boolean inWishlist = wishlistItemService.isProductInWishlist(currentUser.getId(), productId);
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
+        boolean inWishlist = wishlistItemService.isProductInWishlist(userId, productId);
         return ResponseEntity.ok(inWishlist);
     }
 
     @PostMapping("/{id}/move-to-cart")
     public ResponseEntity<Void> moveToCart(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @PathVariable Long id) {
 
-        if (authentication == null || authentication.getName() == null) {
+        if (currentUser == null) {
             throw new ValidationException("Unauthenticated");
         }
 
-        String email = authentication.getName();
-        UserDto currentUser = userClient.getUserByEmail(email);
+        Long userId = currentUser.resolveUserId(userClient::getUserByEmail);
 
-        WishlistItemResponse wishlistItem = wishlistItemService.getWishlistItemById(currentUser.getId(), id);
+        WishlistItemResponse wishlistItem = wishlistItemService.getWishlistItemById(userId, id);
 
         if (wishlistItem != null) {
             // Add to cart
@@ -107,9 +102,9 @@ public class WishlistItemController {
             cartClient.addItemToCart(cartRequest);
 
             // Remove from wishlist
-            wishlistItemService.removeFromWishlist(currentUser.getId(), id);
+            wishlistItemService.removeFromWishlist(userId, id);
         }
 
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+}